@@ -0,0 +1,24 @@
+package exceptions;
+
+import perform.GraphDriver;
+
+/**
+ * Indicates that an unrecognized or malformed command line option was 
+ * specified.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+public final class InvalidCmdLineOptionException extends Exception
+{
+	/**
+	 * Initializes the exception with a helpful error message.
+	 * 
+	 * @param option - the command line option which is invalid
+	 */
+	public InvalidCmdLineOptionException(String option)
+	{
+		super("You specified an invalid command line option: " + option +
+			"\n" + GraphDriver.USAGE_MESSAGE);
+	}
+}
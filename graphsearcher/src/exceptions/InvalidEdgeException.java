@@ -21,8 +21,11 @@ public final class InvalidEdgeException extends Exception
 			"\n1 3" +
 			"\n2 0" +
 			"\n4 5" +
+			"\nAn optional, non-negative weight may follow each edge: " +
+			"\n1 3 2.5" +
 			"\nEach vertex ID must be an integer between 0 and " +
-			"(the number of vertices - 1)." +
+			"(the number of vertices - 1), unless --sparse-ids is " +
+			"specified." +
 			"\nRepetitions of adjacencies are not permitted.");
 	}
 }
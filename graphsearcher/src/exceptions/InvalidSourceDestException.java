@@ -18,7 +18,8 @@ public final class InvalidSourceDestException extends Exception
 			"You specified an invalid source vertex or an invalid " +
 			"destination vertex." +
 			"\nBoth vertices must be integers between 0 and (the number of " +
-			"vertices - 1)." +
+			"vertices - 1), or, if --sparse-ids is specified, IDs within " +
+			"the graph file." +
 			"\nEnsure that the format is correct before entering the source " +
 			"and destination vertices." +
 			"\nThe valid format: <source_vertex> <destination_vertex>");
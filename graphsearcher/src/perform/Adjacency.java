@@ -0,0 +1,58 @@
+package perform;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Models read-only access to the vertices adjacent to each vertex of a 
+ * directed graph, independent of how the adjacencies are stored.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+interface Adjacency
+{
+	/**
+	 * Returns the number of vertices of the graph.
+	 * 
+	 * @return numOfVertices - the number of vertices of the graph
+	 */
+	int numOfVertices();
+	
+	/**
+	 * Returns the number of adjacencies of the graph.
+	 * 
+	 * @return numOfEdges - the number of adjacencies of the graph
+	 */
+	long numOfEdges();
+	
+	/**
+	 * Returns the number of vertices adjacent to the specified vertex.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return degree - the number of vertices adjacent to the vertex
+	 */
+	int degree(int vertexId);
+	
+	/**
+	 * Returns the position, among the adjacencies of every vertex in order of
+	 * vertex ID, of the first adjacency of the specified vertex. Data which is
+	 * stored in parallel to the adjacencies, such as weights, is found at 
+	 * this position plus the index of the adjacency within its vertex.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return edgeOffset - the position of the first adjacency of the vertex
+	 */
+	int edgeOffset(int vertexId);
+	
+	/**
+	 * Returns an iterator over the IDs of the vertices adjacent to the 
+	 * specified vertex, in the order in which they are stored.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return adjs - the IDs of the vertices adjacent to the vertex
+	 */
+	PrimitiveIterator.OfInt neighbors(int vertexId);
+}
@@ -0,0 +1,293 @@
+package perform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the results of a graph as compact binary records through a buffered
+ * channel, for consumers which would otherwise parse the text output.
+ * 
+ * <p>The output begins with the magic bytes "GSR1" and one byte holding the
+ * width, in bytes, of every vertex ID: 4, or 8 if the IDs of the graph file
+ * may be any long integers. Every record then begins with a one-byte tag.
+ * A list of vertex IDs follows its tag with a 32-bit count and the IDs
+ * themselves, all little-endian. A list of edges follows its tag with the
+ * count of edges and then, for each edge, the zigzag-encoded difference of
+ * its from vertex and that of the previous edge, or of 0 for the first edge;
+ * if a previous edge has the same from vertex, the gap from its to vertex 
+ * minus one follows, and otherwise the zigzag-encoded to vertex. Counts, 
+ * differences and gaps are written seven bits per byte, with the high bit 
+ * of each byte marking that another byte follows. A flag follows its tag as a single byte of 0 or 1.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class BinaryStatsWriter
+{
+	/**
+	 * The tag of the record of the vertices in order of discovery by the
+	 * depth-first search.
+	 */
+	static final byte DISCOVERY_RECORD = 1;
+	
+	/**
+	 * The tag of the record of the vertices along the first discovered path;
+	 * an empty list if the destination vertex was not found.
+	 */
+	static final byte PATH_RECORD = 2;
+	
+	/**
+	 * The tag of the record of the transitive closure edges.
+	 */
+	static final byte CLOSURE_RECORD = 3;
+	
+	/**
+	 * The tag of the record of whether the graph is cyclic.
+	 */
+	static final byte CYCLE_RECORD = 4;
+	
+	/**
+	 * The bytes which begin the output.
+	 */
+	private static final byte[] MAGIC = {'G', 'S', 'R', '1'};
+	
+	/**
+	 * The number of bytes buffered before they are written to the channel.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	/**
+	 * The greatest number of bytes of a single value.
+	 */
+	private static final int MAX_VALUE_BYTES = 10;
+	
+	/**
+	 * The bits of a byte which hold part of a value.
+	 */
+	private static final int PAYLOAD_BITS = 0x7f;
+	
+	/**
+	 * The bit of a byte which marks that another byte of the value follows.
+	 */
+	private static final int CONTINUATION_BIT = 0x80;
+	
+	/**
+	 * The number of value bits held by each byte.
+	 */
+	private static final int BITS_PER_BYTE = 7;
+	
+	/**
+	 * The channel to which the records are written.
+	 */
+	private final WritableByteChannel channel;
+	
+	/**
+	 * The bytes not yet written to the channel.
+	 */
+	private final ByteBuffer buffer;
+	
+	/**
+	 * Whether every vertex ID is written in eight bytes rather than four.
+	 */
+	private final boolean wideIds;
+	
+	/**
+	 * The from vertex of the previously written edge.
+	 */
+	private long previousFrom;
+	
+	/**
+	 * The to vertex of the previously written edge.
+	 */
+	private long previousTo;
+	
+	/**
+	 * Whether no edge of the current record of edges has been written.
+	 */
+	private boolean firstEdge;
+	
+	/**
+	 * Initializes a writer to the specified channel.
+	 * 
+	 * @param channel - the channel to which the records are written
+	 * @param wideIds - true if the vertex IDs may be any long integers; false
+	 *     if they are non-negative integers
+	 */
+	BinaryStatsWriter(WritableByteChannel channel, boolean wideIds)
+	{
+		this.channel = channel;
+		this.wideIds = wideIds;
+		buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * Writes the magic bytes and the width of the vertex IDs.
+	 * 
+	 * @throws IOException - if the bytes could not be written
+	 */
+	void writeHeader()
+		throws IOException
+	{
+		reserve(MAGIC.length + 1);
+		buffer.put(MAGIC);
+		buffer.put((byte) (wideIds ? Long.BYTES : Integer.BYTES));
+	}
+	
+	/**
+	 * Writes the specified vertex IDs as a single length-prefixed record.
+	 * 
+	 * @param tag - the tag of the record
+	 * @param vertexIds - the IDs of the vertices as specified within the
+	 *     graph file
+	 * 
+	 * @throws IOException - if the record could not be written
+	 */
+	void writeIds(byte tag, long[] vertexIds)
+		throws IOException
+	{
+		reserve(1 + Integer.BYTES);
+		buffer.put(tag);
+		buffer.putInt(vertexIds.length);
+		for (long vertexId : vertexIds)
+		{
+			if (wideIds == true)
+			{
+				reserve(Long.BYTES);
+				buffer.putLong(vertexId);
+			}
+			else
+			{
+				reserve(Integer.BYTES);
+				buffer.putInt((int) vertexId);
+			}
+		}
+	}
+	
+	/**
+	 * Begins a record of the specified number of edges, which must each be
+	 * written by writeEdge.
+	 * 
+	 * @param tag - the tag of the record
+	 * @param numOfEdges - the number of edges of the record
+	 * 
+	 * @throws IOException - if the record could not be written
+	 */
+	void beginEdges(byte tag, long numOfEdges)
+		throws IOException
+	{
+		reserve(1 + MAX_VALUE_BYTES);
+		buffer.put(tag);
+		writeVarLong(numOfEdges);
+		previousFrom = 0;
+		previousTo = 0;
+		firstEdge = true;
+	}
+	
+	/**
+	 * Writes the specified edge of the current record of edges, relative to
+	 * the previously written edge.
+	 * 
+	 * @param from - the ID of the vertex from which the edge leads
+	 * @param to - the ID of the vertex to which the edge leads
+	 * 
+	 * @throws IOException - if the edge could not be written
+	 */
+	void writeEdge(long from, long to)
+		throws IOException
+	{
+		reserve(2 * MAX_VALUE_BYTES);
+		writeVarLong(zigzag(from - previousFrom));
+		if ((from == previousFrom) && (firstEdge == false))
+		{
+			writeVarLong(to - previousTo - 1);
+		}
+		else
+		{
+			writeVarLong(zigzag(to));
+		}
+		previousFrom = from;
+		previousTo = to;
+		firstEdge = false;
+	}
+	
+	/**
+	 * Writes the specified flag as a single record.
+	 * 
+	 * @param tag - the tag of the record
+	 * @param flag - the flag
+	 * 
+	 * @throws IOException - if the record could not be written
+	 */
+	void writeFlag(byte tag, boolean flag)
+		throws IOException
+	{
+		reserve(2);
+		buffer.put(tag);
+		buffer.put((byte) (flag ? 1 : 0));
+	}
+	
+	/**
+	 * Writes every buffered byte to the channel.
+	 * 
+	 * @throws IOException - if the bytes could not be written
+	 */
+	void flush()
+		throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining() == true)
+		{
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	/**
+	 * Ensures that the specified number of bytes fits in the buffer, writing
+	 * the buffered bytes to the channel if it does not.
+	 * 
+	 * @param numOfBytes - the number of bytes about to be buffered
+	 * 
+	 * @throws IOException - if the buffered bytes could not be written
+	 */
+	private void reserve(int numOfBytes)
+		throws IOException
+	{
+		if (buffer.remaining() < numOfBytes)
+		{
+			flush();
+		}
+	}
+	
+	/**
+	 * Buffers the specified unsigned value seven bits per byte, least
+	 * significant bits first.
+	 * 
+	 * @param value - the value, whose bits are interpreted as unsigned
+	 */
+	private void writeVarLong(long value)
+	{
+		while ((value & ~PAYLOAD_BITS) != 0)
+		{
+			buffer.put((byte) ((value & PAYLOAD_BITS) | CONTINUATION_BIT));
+			value >>>= BITS_PER_BYTE;
+		}
+		buffer.put((byte) value);
+	}
+	
+	/**
+	 * Maps a signed value to an unsigned value so that values of small
+	 * magnitude, whether negative or positive, remain small.
+	 * 
+	 * @param value - the signed value
+	 * 
+	 * @return zigzag - the unsigned value
+	 */
+	private static long zigzag(long value)
+	{
+		return (value << 1) ^ (value >> 63);
+	}
+}
@@ -0,0 +1,309 @@
+package perform;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Performs a depth-first search for a destination vertex which gives up once
+ * it exceeds a budget, so that the latency of a query is bounded regardless
+ * of the size of the graph. The budget limits the depth of the search, the 
+ * number of vertices it visits, and the time it may take.
+ * 
+ * <p>If a maximum depth is set, a vertex is visited again whenever it is 
+ * reached by a shallower path than before, so that no vertex within the 
+ * maximum depth of the source vertex is missed because it was first reached
+ * too deep. By iterative deepening, the search is repeated with a depth 
+ * limit that doubles until the destination vertex is found, the whole 
+ * reachable graph lies within the limit, or the budget is exhausted, so that
+ * nearby destination vertices are found quickly.
+ * 
+ * <p>The depths of the visited vertices are kept in a map and the stack of
+ * the search grows with the depth it reaches, so that neither a round of 
+ * iterative deepening nor a search cut short by its budget pays for the size
+ * of the whole graph.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class BudgetedSearch
+{
+	/**
+	 * The outcomes of a budgeted search.
+	 */
+	enum Outcome
+	{
+		/**
+		 * The destination vertex was found.
+		 */
+		FOUND,
+		
+		/**
+		 * Every vertex reachable from the source vertex was visited and the 
+		 * destination vertex is not among them.
+		 */
+		NOT_FOUND,
+		
+		/**
+		 * The budget was exhausted before the destination vertex was found.
+		 */
+		BUDGET_EXHAUSTED;
+	}
+	
+	/**
+	 * The limit of a budget which does not limit the search.
+	 */
+	static final long UNLIMITED = Long.MAX_VALUE;
+	
+	/**
+	 * The depth of a vertex which has not been reached.
+	 */
+	private static final int UNREACHED = Integer.MAX_VALUE;
+	
+	/**
+	 * The number of vertices the stack of a search holds before it grows.
+	 */
+	private static final int INITIAL_STACK_CAPACITY = 16;
+	
+	/**
+	 * The number of visits between consecutive examinations of the clock.
+	 */
+	private static final int VISITS_PER_CLOCK_CHECK = 256;
+	
+	/**
+	 * The vertices which exist in the graph with respect to their adjacent 
+	 * vertices.
+	 */
+	private final Adjacency adjacency;
+	
+	/**
+	 * The greatest number of edges along any path the search follows.
+	 */
+	private final long maxDepth;
+	
+	/**
+	 * The greatest number of vertices the search visits, counted across all
+	 * iterations of iterative deepening.
+	 */
+	private final long maxVisited;
+	
+	/**
+	 * The greatest number of nanoseconds the search takes.
+	 */
+	private final long maxNanos;
+	
+	/**
+	 * The path to the destination vertex found by the latest search; null if
+	 * it was not found.
+	 */
+	private int[] path;
+	
+	/**
+	 * The number of vertices visited by the latest search.
+	 */
+	private long numOfVisited;
+	
+	/**
+	 * The time, in nanoseconds, by which the latest search must end.
+	 */
+	private long deadline;
+	
+	/**
+	 * Initializes a search of the specified graph within the specified 
+	 * budget.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect 
+	 *     to their adjacent vertices
+	 * @param maxDepth - the greatest number of edges along any path the 
+	 *     search follows; UNLIMITED for no limit
+	 * @param maxVisited - the greatest number of vertices the search visits;
+	 *     UNLIMITED for no limit
+	 * @param maxNanos - the greatest number of nanoseconds the search takes;
+	 *     UNLIMITED for no limit
+	 */
+	BudgetedSearch(
+		Adjacency adjacency, long maxDepth, long maxVisited, long maxNanos)
+	{
+		this.adjacency = adjacency;
+		this.maxDepth = maxDepth;
+		this.maxVisited = maxVisited;
+		this.maxNanos = maxNanos;
+		
+		path = null;
+		numOfVisited = 0;
+	}
+	
+	/**
+	 * Searches depth-first from the specified source vertex for the 
+	 * specified destination vertex within the budget.
+	 * 
+	 * @param sourceVertexId - the ID of the vertex from which to search
+	 * @param destVertexId - the ID of the vertex to find
+	 * @param iterativeDeepening - true to repeat the search with a doubling
+	 *     depth limit; false to search once to the maximum depth
+	 *     
+	 * @return outcome - whether the destination vertex was found, is not 
+	 *     reachable, or could not be found within the budget
+	 */
+	Outcome search(
+		int sourceVertexId, int destVertexId, boolean iterativeDeepening)
+	{
+		path = null;
+		numOfVisited = 0;
+		deadline = UNLIMITED;
+		if (maxNanos != UNLIMITED)
+		{
+			deadline = System.nanoTime() + maxNanos;
+		}
+		
+		if (iterativeDeepening == false)
+		{
+			return searchToDepth(sourceVertexId, destVertexId, maxDepth);
+		}
+		
+		long depthLimit = 1;
+		while (true)
+		{
+			depthLimit = Math.min(depthLimit, maxDepth);
+			
+			Outcome outcome = 
+				searchToDepth(sourceVertexId, destVertexId, depthLimit);
+			if ((outcome != Outcome.BUDGET_EXHAUSTED) 
+				|| (depthLimit == maxDepth)
+				|| (numOfVisited >= maxVisited)
+				|| (isPastDeadline() == true))
+			{
+				return outcome;
+			}
+			
+			depthLimit <<= 1;
+		}
+	}
+	
+	/**
+	 * Returns the path to the destination vertex found by the latest search.
+	 * 
+	 * @return path - the IDs of the vertices along the path, beginning with 
+	 *     the source vertex and ending with the destination vertex; null if 
+	 *     the destination vertex was not found
+	 */
+	int[] getPath()
+	{
+		return path;
+	}
+	
+	/**
+	 * Returns the number of vertices visited by the latest search.
+	 * 
+	 * @return numOfVisited - the number of vertices visited, counted across 
+	 *     all iterations of iterative deepening
+	 */
+	long getNumOfVisited()
+	{
+		return numOfVisited;
+	}
+	
+	/**
+	 * Searches depth-first from the specified source vertex, following no 
+	 * path of more than the specified number of edges. Without a depth 
+	 * limit, each vertex is visited at most once, exactly as by the 
+	 * unbudgeted depth-first search.
+	 * 
+	 * @param sourceVertexId - the ID of the vertex from which to search
+	 * @param destVertexId - the ID of the vertex to find
+	 * @param depthLimit - the greatest number of edges along any path
+	 * 
+	 * @return outcome - FOUND if the destination vertex was found; NOT_FOUND 
+	 *     if every reachable vertex was visited within the depth limit; 
+	 *     BUDGET_EXHAUSTED otherwise
+	 */
+	private Outcome searchToDepth(
+		int sourceVertexId, int destVertexId, long depthLimit)
+	{
+		if (isPastDeadline() == true)
+		{
+			return Outcome.BUDGET_EXHAUSTED;
+		}
+		
+		boolean revisitShallower = (depthLimit != UNLIMITED);
+		boolean depthLimitReached = false;
+		
+		LongIntHashMap depths = new LongIntHashMap();
+		int[] stack = new int[INITIAL_STACK_CAPACITY];
+		PrimitiveIterator.OfInt[] stackAdjs = 
+			new PrimitiveIterator.OfInt[INITIAL_STACK_CAPACITY];
+		int top = 0;
+		
+		depths.put(sourceVertexId, 0);
+		stack[top] = sourceVertexId;
+		stackAdjs[top] = adjacency.neighbors(sourceVertexId);
+		
+		while (top >= 0)
+		{
+			PrimitiveIterator.OfInt adjs = stackAdjs[top];
+			int adjDepth = top + 1;
+			
+			boolean popExaminedVertex = true;
+			while (adjs.hasNext() == true)
+			{
+				int adjVertexId = adjs.nextInt();
+				int depth = depths.get(adjVertexId, UNREACHED);
+				if ((depth == UNREACHED) 
+					|| ((revisitShallower == true) && (adjDepth < depth)))
+				{
+					if (adjDepth > depthLimit)
+					{
+						depthLimitReached = true;
+						continue;
+					}
+					
+					if ((numOfVisited == maxVisited)
+						|| (((numOfVisited % VISITS_PER_CLOCK_CHECK) == 0)
+						&& (isPastDeadline() == true)))
+					{
+						return Outcome.BUDGET_EXHAUSTED;
+					}
+					++numOfVisited;
+					
+					depths.put(adjVertexId, adjDepth);
+					if (top + 1 == stack.length)
+					{
+						stack = Arrays.copyOf(stack, stack.length << 1);
+						stackAdjs = Arrays.copyOf(stackAdjs, stack.length);
+					}
+					stack[++top] = adjVertexId;
+					if (adjVertexId == destVertexId)
+					{
+						path = Arrays.copyOf(stack, top + 1);
+						return Outcome.FOUND;
+					}
+					stackAdjs[top] = adjacency.neighbors(adjVertexId);
+					
+					popExaminedVertex = false;
+					break;
+				}
+			}
+			
+			if (popExaminedVertex == true)
+			{
+				stackAdjs[top] = null;
+				--top;
+			}
+		}
+		
+		if (depthLimitReached == true)
+		{
+			return Outcome.BUDGET_EXHAUSTED;
+		}
+		return Outcome.NOT_FOUND;
+	}
+	
+	/**
+	 * Returns whether the time allotted to the latest search has passed.
+	 * 
+	 * @return pastDeadline - true if the deadline has passed; false otherwise
+	 */
+	private boolean isPastDeadline()
+	{
+		return (deadline != UNLIMITED) && (System.nanoTime() - deadline > 0);
+	}
+}
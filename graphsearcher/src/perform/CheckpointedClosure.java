@@ -0,0 +1,384 @@
+package perform;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.PrimitiveIterator;
+
+/**
+ * Determines the transitive closure of a directed graph by Warshall's
+ * algorithm over a bit-packed matrix which is memory-mapped from a
+ * checkpoint file, so that a closure which is interrupted resumes from its
+ * last checkpoint rather than from the beginning.
+ * 
+ * <p>The file begins with a header holding a magic number, the number of
+ * vertices, a fingerprint of the adjacencies, and the next pivot to be
+ * processed; each row of the matrix follows as 64-bit words. The rows are
+ * mapped in segments of whole rows, each within the size of a single 
+ * mapping, so the size of the matrix is bounded by the address space 
+ * rather than by the size of a mapping. At most once per interval, the 
+ * mapped matrix is forced to the file and only then is the next pivot of 
+ * the header advanced and forced, so the header never claims more progress
+ * than the file holds. The matrix may hold bits of later pivots as well, 
+ * but every bit of the matrix is a true transitive closure edge at any 
+ * moment, so processing those pivots again is harmless. A checkpoint of 
+ * another graph does not match the fingerprint and is started over. Once 
+ * the closure is complete, its rows are read directly from the mapped 
+ * file, one at a time, rather than unpacked into memory as a whole.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class CheckpointedClosure implements ClosureMatrix
+{
+	/**
+	 * The number which begins every checkpoint file: "GSCLOSE1" read as 
+	 * little-endian bytes.
+	 */
+	private static final long MAGIC = 0x3145534f4c435347L;
+	
+	/**
+	 * The number of bytes of the header.
+	 */
+	private static final int HEADER_BYTES = 32;
+	
+	/**
+	 * The position, within the header, of the number of vertices.
+	 */
+	private static final int NUM_OF_VERTICES_POSITION = 8;
+	
+	/**
+	 * The position, within the header, of the next pivot.
+	 */
+	private static final int NEXT_PIVOT_POSITION = 12;
+	
+	/**
+	 * The position, within the header, of the fingerprint of the
+	 * adjacencies.
+	 */
+	private static final int FINGERPRINT_POSITION = 16;
+	
+	/**
+	 * The number of bits by which a vertex ID is shifted to give the index of
+	 * its word within a row.
+	 */
+	private static final int WORD_SHIFT = 6;
+	
+	/**
+	 * The number of bits of each word of a row.
+	 */
+	private static final int BITS_PER_WORD = 64;
+	
+	/**
+	 * The greatest number of bytes of a single mapping.
+	 */
+	private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+	
+	/**
+	 * The multiplier by which the fingerprint is mixed.
+	 */
+	private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+	
+	/**
+	 * The vertices which exist in the graph with respect to their adjacent
+	 * vertices.
+	 */
+	private final Adjacency adjacency;
+	
+	/**
+	 * The checkpoint file.
+	 */
+	private final File checkpointFile;
+	
+	/**
+	 * The number of nanoseconds between checkpoints.
+	 */
+	private final long intervalNanos;
+	
+	/**
+	 * The number of words of each row.
+	 */
+	private final int wordsPerRow;
+	
+	/**
+	 * The number of rows of each segment but the last.
+	 */
+	private final int rowsPerSegment;
+	
+	/**
+	 * The mapped header of the checkpoint file; null until the closure is 
+	 * computed.
+	 */
+	private MappedByteBuffer header;
+	
+	/**
+	 * The mapped segments of the matrix; null until the closure is computed.
+	 */
+	private MappedByteBuffer[] segments;
+	
+	/**
+	 * The words of each mapped segment of the matrix; null until the closure
+	 * is computed.
+	 */
+	private LongBuffer[] segmentRows;
+	
+	/**
+	 * Initializes the closure of the specified graph.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * @param checkpointFile - the file to which progress is persisted and
+	 *     from which it is resumed
+	 * @param intervalNanos - the number of nanoseconds between checkpoints
+	 */
+	CheckpointedClosure(
+		Adjacency adjacency, File checkpointFile, long intervalNanos)
+	{
+		this.adjacency = adjacency;
+		this.checkpointFile = checkpointFile;
+		this.intervalNanos = intervalNanos;
+		
+		int numOfVertices = adjacency.numOfVertices();
+		wordsPerRow = (numOfVertices + BITS_PER_WORD - 1) >>> WORD_SHIFT;
+		long rowBytes = Math.max(1, wordsPerRow) * (long) Long.BYTES;
+		rowsPerSegment = (int) Math.max(1, MAX_SEGMENT_BYTES / rowBytes);
+		
+		header = null;
+		segments = null;
+		segmentRows = null;
+	}
+	
+	/**
+	 * Determines the transitive closure of the graph, resuming from the
+	 * checkpoint file if it holds progress of the same graph. The file is
+	 * kept once the closure is complete, so a later run of the same graph
+	 * only reads it. The rows of the closure are then read from the mapped 
+	 * file.
+	 * 
+	 * @throws IOException - if the checkpoint file could not be mapped or
+	 *     forced
+	 */
+	void compute()
+		throws IOException
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		long rowBytes = (long) wordsPerRow * Long.BYTES;
+		long length = HEADER_BYTES + numOfVertices * rowBytes;
+		long fingerprint = fingerprint();
+		
+		// A mapping remains valid once its channel is closed.
+		try (
+			RandomAccessFile checkpoint =
+			new RandomAccessFile(checkpointFile, "rw");
+			FileChannel channel = checkpoint.getChannel();)
+		{
+			boolean resumable = (channel.size() == length);
+			
+			header = channel.map(
+				FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			
+			int numOfSegments = 
+				(numOfVertices + rowsPerSegment - 1) / rowsPerSegment;
+			segments = new MappedByteBuffer[numOfSegments];
+			segmentRows = new LongBuffer[numOfSegments];
+			for (int segment = 0; segment < numOfSegments; ++segment)
+			{
+				long firstRow = (long) segment * rowsPerSegment;
+				long numOfRows = 
+					Math.min(rowsPerSegment, numOfVertices - firstRow);
+				segments[segment] = channel.map(
+					FileChannel.MapMode.READ_WRITE, 
+					HEADER_BYTES + firstRow * rowBytes, 
+					numOfRows * rowBytes);
+				segmentRows[segment] = segments[segment]
+					.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			}
+			
+			resumable &=
+				(header.getLong(0) == MAGIC)
+				&& (header.getInt(NUM_OF_VERTICES_POSITION) == numOfVertices)
+				&& (header.getLong(FINGERPRINT_POSITION) == fingerprint);
+			
+			int resumedPivot = 0;
+			if (resumable == true)
+			{
+				resumedPivot = header.getInt(NEXT_PIVOT_POSITION);
+				resumable = 
+					(resumedPivot >= 0) && (resumedPivot <= numOfVertices);
+			}
+			if (resumable == false)
+			{
+				resumedPivot = 0;
+				initialize(fingerprint);
+			}
+			
+			long lastCheckpoint = System.nanoTime();
+			for (int pivot = resumedPivot; pivot < numOfVertices; ++pivot)
+			{
+				applyPivot(pivot);
+				
+				if ((System.nanoTime() - lastCheckpoint >= intervalNanos)
+					|| (pivot == numOfVertices - 1))
+				{
+					forceSegments();
+					header.putInt(NEXT_PIVOT_POSITION, pivot + 1);
+					header.force();
+					lastCheckpoint = System.nanoTime();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Unpacks the row of the specified vertex from the mapped file into the
+	 * specified buffer.
+	 */
+	@Override
+	public boolean[] row(int vertexFrom, boolean[] buffer)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		LongBuffer rows = segmentRows[vertexFrom / rowsPerSegment];
+		int rowStart = rowStartOf(vertexFrom);
+		for (int vertexTo = 0; vertexTo < numOfVertices; ++vertexTo)
+		{
+			buffer[vertexTo] =
+				(rows.get(rowStart + (vertexTo >>> WORD_SHIFT))
+				& (1L << vertexTo)) != 0;
+		}
+		
+		return buffer;
+	}
+	
+	/**
+	 * Writes the header and the adjacencies of the graph as the initial
+	 * matrix, and forces them to the file.
+	 * 
+	 * @param fingerprint - the fingerprint of the adjacencies
+	 */
+	private void initialize(long fingerprint)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		// The header is invalid until the matrix is complete.
+		header.putLong(0, 0);
+		header.putInt(NUM_OF_VERTICES_POSITION, numOfVertices);
+		header.putInt(NEXT_PIVOT_POSITION, 0);
+		header.putLong(FINGERPRINT_POSITION, fingerprint);
+		header.force();
+		
+		for (LongBuffer rows : segmentRows)
+		{
+			for (int word = 0; word < rows.capacity(); ++word)
+			{
+				rows.put(word, 0);
+			}
+		}
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			LongBuffer rows = segmentRows[vertexId / rowsPerSegment];
+			int rowStart = rowStartOf(vertexId);
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(vertexId);
+			while (adjs.hasNext() == true)
+			{
+				int adjVertexId = adjs.nextInt();
+				int word = rowStart + (adjVertexId >>> WORD_SHIFT);
+				rows.put(word, rows.get(word) | (1L << adjVertexId));
+			}
+		}
+		
+		forceSegments();
+		header.putLong(0, MAGIC);
+		header.force();
+	}
+	
+	/**
+	 * Adds, to the row of every vertex from which the specified pivot is
+	 * reachable, every vertex reachable from the pivot.
+	 * 
+	 * @param pivot - the ID of the pivot
+	 */
+	private void applyPivot(int pivot)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		LongBuffer pivotRows = segmentRows[pivot / rowsPerSegment];
+		int pivotRowStart = rowStartOf(pivot);
+		int pivotWord = pivot >>> WORD_SHIFT;
+		long pivotBit = 1L << pivot;
+		for (int vertexFrom = 0; vertexFrom < numOfVertices; ++vertexFrom)
+		{
+			LongBuffer rows = segmentRows[vertexFrom / rowsPerSegment];
+			int rowStart = rowStartOf(vertexFrom);
+			if ((vertexFrom == pivot)
+				|| ((rows.get(rowStart + pivotWord) & pivotBit) == 0))
+			{
+				continue;
+			}
+			
+			for (int word = 0; word < wordsPerRow; ++word)
+			{
+				long pivotRowWord = pivotRows.get(pivotRowStart + word);
+				if (pivotRowWord != 0)
+				{
+					rows.put(rowStart + word,
+						rows.get(rowStart + word) | pivotRowWord);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the position, within the words of its segment, of the first 
+	 * word of the row of the specified vertex.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return rowStart - the position of the first word of the row
+	 */
+	private int rowStartOf(int vertexId)
+	{
+		return (vertexId % rowsPerSegment) * wordsPerRow;
+	}
+	
+	/**
+	 * Forces every mapped segment of the matrix to the file.
+	 */
+	private void forceSegments()
+	{
+		for (MappedByteBuffer segment : segments)
+		{
+			segment.force();
+		}
+	}
+	
+	/**
+	 * Mixes the number of vertices and every adjacency of the graph into a
+	 * fingerprint, which differs between graphs and between orderings of the
+	 * same graph with high probability.
+	 * 
+	 * @return fingerprint - the fingerprint of the adjacencies
+	 */
+	private long fingerprint()
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		long fingerprint = numOfVertices;
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			fingerprint = (fingerprint ^ ~vertexId) * FINGERPRINT_PRIME;
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(vertexId);
+			while (adjs.hasNext() == true)
+			{
+				fingerprint = (fingerprint ^ adjs.nextInt()) * FINGERPRINT_PRIME;
+			}
+		}
+		
+		return fingerprint;
+	}
+}
@@ -0,0 +1,25 @@
+package perform;
+
+/**
+ * Models read-only access to the transitive closure of a directed graph, one
+ * row at a time, independent of where the closure is held.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+interface ClosureMatrix
+{
+	/**
+	 * Returns the row of the specified vertex, in which each element
+	 * represents the existence of transitive closure from the vertex to
+	 * another. A closure which holds its rows in memory returns the row
+	 * itself; any other fills and returns the specified buffer, so that only
+	 * a single row is unpacked at once.
+	 * 
+	 * @param vertexFrom - the ID of the vertex
+	 * @param buffer - room for the row, of one element per vertex
+	 * 
+	 * @return row - the row of the vertex, which is not to be modified
+	 */
+	boolean[] row(int vertexFrom, boolean[] buffer);
+}
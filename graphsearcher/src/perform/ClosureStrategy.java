@@ -0,0 +1,50 @@
+package perform;
+
+/**
+ * Models the strategies by which the transitive closure of the graph may be
+ * determined.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+enum ClosureStrategy
+{
+	/**
+	 * The strategy is chosen from the profile of the graph.
+	 */
+	AUTO,
+	
+	/**
+	 * Warshall's algorithm over the adjacency matrix, whose cost grows with 
+	 * the cube of the number of vertices regardless of the number of edges.
+	 */
+	MATRIX,
+	
+	/**
+	 * A breadth-first search from every vertex over the adjacencies, whose 
+	 * cost grows with the number of vertices times the number of edges.
+	 */
+	TRAVERSAL;
+	
+	// Methods
+	/**
+	 * Returns the strategy whose name matches the specified name, ignoring
+	 * case.
+	 * 
+	 * @param name - the name of the strategy
+	 * 
+	 * @return strategy - the matching strategy; null if no strategy matches
+	 */
+	static ClosureStrategy fromName(String name)
+	{
+		for (ClosureStrategy strategy : values())
+		{
+			if (strategy.name().equalsIgnoreCase(name) == true)
+			{
+				return strategy;
+			}
+		}
+		
+		return null;
+	}
+}
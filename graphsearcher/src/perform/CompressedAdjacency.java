@@ -0,0 +1,395 @@
+package perform;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Stores the adjacencies of a graph in a single byte array in which each 
+ * list of adjacent vertices is gap-encoded with variable-length integers, in
+ * the manner of WebGraph. Lists are decoded on the fly as they are iterated.
+ * 
+ * <p>The list of each vertex begins with a header holding the degree of the
+ * vertex and whether the list is strictly ascending. The first adjacent 
+ * vertex is stored as its signed distance from the vertex itself. Each
+ * following vertex of an ascending list is stored as its gap from the 
+ * previous vertex minus one; in any other list, as its signed difference 
+ * from the previous vertex. Signed values are zigzag-encoded so that small 
+ * magnitudes need few bytes. Every value is written seven bits per byte, 
+ * with the high bit of each byte marking that another byte follows.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class CompressedAdjacency implements Adjacency
+{
+	/**
+	 * The bits of a byte which hold part of a value.
+	 */
+	private static final int PAYLOAD_BITS = 0x7f;
+	
+	/**
+	 * The bit of a byte which marks that another byte of the value follows.
+	 */
+	private static final int CONTINUATION_BIT = 0x80;
+	
+	/**
+	 * The number of value bits held by each byte.
+	 */
+	private static final int BITS_PER_BYTE = 7;
+	
+	/**
+	 * The encoded lists of adjacent vertices of every vertex, in order of 
+	 * vertex ID.
+	 */
+	private final byte[] data;
+	
+	/**
+	 * The position, within the data, of each vertex's encoded list, followed
+	 * by the length of the data.
+	 */
+	private final int[] offsets;
+	
+	/**
+	 * The position, among the adjacencies of every vertex, of the first 
+	 * adjacency of each vertex, so that data stored in parallel to the 
+	 * uncompressed adjacencies remains addressable.
+	 */
+	private final int[] edgeOffsets;
+	
+	/**
+	 * The number of adjacencies of the graph.
+	 */
+	private final long numOfEdges;
+	
+	/**
+	 * Encodes the adjacencies of the specified graph. The order of each list
+	 * of adjacent vertices is preserved.
+	 * 
+	 * @param adjacency - the adjacencies of the graph
+	 */
+	CompressedAdjacency(Adjacency adjacency)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		offsets = new int[numOfVertices + 1];
+		edgeOffsets = new int[numOfVertices];
+		numOfEdges = adjacency.numOfEdges();
+		
+		// Size every list first so that the data is allocated exactly.
+		long length = 0;
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			offsets[vertexId] = (int) length;
+			edgeOffsets[vertexId] = adjacency.edgeOffset(vertexId);
+			length += encode(adjacency, vertexId, null, 0);
+			if (length > Integer.MAX_VALUE)
+			{
+				throw new IllegalStateException(
+					"The compressed adjacencies exceed the size of an array.");
+			}
+		}
+		offsets[numOfVertices] = (int) length;
+		
+		data = new byte[(int) length];
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			encode(adjacency, vertexId, data, offsets[vertexId]);
+		}
+	}
+	
+	/**
+	 * Returns the number of vertices of the graph.
+	 */
+	@Override
+	public int numOfVertices()
+	{
+		return offsets.length - 1;
+	}
+	
+	/**
+	 * Returns the number of adjacencies of the graph.
+	 */
+	@Override
+	public long numOfEdges()
+	{
+		return numOfEdges;
+	}
+	
+	/**
+	 * Returns the number of vertices adjacent to the specified vertex, which
+	 * is decoded from the header of its list.
+	 */
+	@Override
+	public int degree(int vertexId)
+	{
+		int position = offsets[vertexId];
+		int header = 0;
+		int shift = 0;
+		int encodedByte = 0;
+		do
+		{
+			encodedByte = data[position++];
+			header |= (encodedByte & PAYLOAD_BITS) << shift;
+			shift += BITS_PER_BYTE;
+		}
+		while ((encodedByte & CONTINUATION_BIT) != 0);
+		
+		return header >>> 1;
+	}
+	
+	/**
+	 * Returns the position of the first adjacency of the specified vertex 
+	 * among the uncompressed adjacencies.
+	 */
+	@Override
+	public int edgeOffset(int vertexId)
+	{
+		return edgeOffsets[vertexId];
+	}
+	
+	/**
+	 * Returns an iterator which decodes the list of the specified vertex as 
+	 * it advances.
+	 */
+	@Override
+	public PrimitiveIterator.OfInt neighbors(int vertexId)
+	{
+		return new Decoder(vertexId);
+	}
+	
+	/**
+	 * Returns the number of bytes of the compressed adjacencies.
+	 * 
+	 * @return sizeInBytes - the number of bytes of the encoded lists
+	 */
+	long sizeInBytes()
+	{
+		return data.length;
+	}
+	
+	/**
+	 * Encodes the list of adjacent vertices of the specified vertex.
+	 * 
+	 * @param adjacency - the adjacencies of the graph
+	 * @param vertexId - the ID of the vertex whose list is encoded
+	 * @param target - the array into which the list is written; null to 
+	 *     only determine the encoded length
+	 * @param position - the position, within the target, at which the list 
+	 *     is written
+	 * 
+	 * @return length - the number of bytes of the encoded list
+	 */
+	private static int encode(
+		Adjacency adjacency, int vertexId, byte[] target, int position)
+	{
+		int degree = adjacency.degree(vertexId);
+		
+		boolean ascending = true;
+		PrimitiveIterator.OfInt adjs = adjacency.neighbors(vertexId);
+		int previous = -1;
+		while (adjs.hasNext() == true)
+		{
+			int adjVertexId = adjs.nextInt();
+			if (adjVertexId <= previous)
+			{
+				ascending = false;
+				break;
+			}
+			previous = adjVertexId;
+		}
+		
+		int start = position;
+		position = writeVarInt((degree << 1) | (ascending ? 1 : 0), 
+			target, position);
+		
+		adjs = adjacency.neighbors(vertexId);
+		if (adjs.hasNext() == true)
+		{
+			previous = adjs.nextInt();
+			position = writeVarInt(
+				zigzag(previous - vertexId), target, position);
+		}
+		while (adjs.hasNext() == true)
+		{
+			int adjVertexId = adjs.nextInt();
+			int gap = 0;
+			if (ascending == true)
+			{
+				gap = adjVertexId - previous - 1;
+			}
+			else
+			{
+				gap = zigzag(adjVertexId - previous);
+			}
+			position = writeVarInt(gap, target, position);
+			previous = adjVertexId;
+		}
+		
+		return position - start;
+	}
+	
+	/**
+	 * Writes the specified unsigned value seven bits per byte, least 
+	 * significant bits first.
+	 * 
+	 * @param value - the value, whose bits are interpreted as unsigned
+	 * @param target - the array into which the value is written; null to 
+	 *     only advance the position
+	 * @param position - the position at which the value is written
+	 * 
+	 * @return position - the position following the written value
+	 */
+	private static int writeVarInt(int value, byte[] target, int position)
+	{
+		while ((value & ~PAYLOAD_BITS) != 0)
+		{
+			if (target != null)
+			{
+				target[position] = 
+					(byte) ((value & PAYLOAD_BITS) | CONTINUATION_BIT);
+			}
+			++position;
+			value >>>= BITS_PER_BYTE;
+		}
+		if (target != null)
+		{
+			target[position] = (byte) value;
+		}
+		
+		return position + 1;
+	}
+	
+	/**
+	 * Maps a signed value to an unsigned value so that values of small 
+	 * magnitude, whether negative or positive, remain small.
+	 * 
+	 * @param value - the signed value
+	 * 
+	 * @return zigzag - the unsigned value
+	 */
+	private static int zigzag(int value)
+	{
+		return (value << 1) ^ (value >> 31);
+	}
+	
+	/**
+	 * Reverses the mapping of a signed value to an unsigned value.
+	 * 
+	 * @param zigzag - the unsigned value
+	 * 
+	 * @return value - the signed value
+	 */
+	private static int unzigzag(int zigzag)
+	{
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+	
+	/**
+	 * Decodes the list of adjacent vertices of a vertex as it is iterated.
+	 */
+	private final class Decoder implements PrimitiveIterator.OfInt
+	{
+		/**
+		 * The position, within the data, of the next encoded value.
+		 */
+		private int position;
+		
+		/**
+		 * The number of adjacent vertices not yet decoded.
+		 */
+		private int remaining;
+		
+		/**
+		 * Whether the list is strictly ascending.
+		 */
+		private final boolean ascending;
+		
+		/**
+		 * The most recently decoded vertex ID, or the ID of the vertex whose 
+		 * list is decoded before the first adjacent vertex is decoded.
+		 */
+		private int previous;
+		
+		/**
+		 * Whether the first adjacent vertex has been decoded.
+		 */
+		private boolean started;
+		
+		/**
+		 * Initializes the decoder at the header of the specified vertex's 
+		 * list.
+		 * 
+		 * @param vertexId - the ID of the vertex whose list is decoded
+		 */
+		Decoder(int vertexId)
+		{
+			position = offsets[vertexId];
+			int header = readVarInt();
+			remaining = header >>> 1;
+			ascending = (header & 1) == 1;
+			previous = vertexId;
+			started = false;
+		}
+		
+		/**
+		 * Returns whether an adjacent vertex remains to be decoded.
+		 */
+		@Override
+		public boolean hasNext()
+		{
+			return remaining > 0;
+		}
+		
+		/**
+		 * Decodes and returns the next adjacent vertex.
+		 */
+		@Override
+		public int nextInt()
+		{
+			if (remaining == 0)
+			{
+				throw new NoSuchElementException();
+			}
+			--remaining;
+			
+			int value = readVarInt();
+			if (started == false)
+			{
+				started = true;
+				previous += unzigzag(value);
+			}
+			else if (ascending == true)
+			{
+				previous += value + 1;
+			}
+			else
+			{
+				previous += unzigzag(value);
+			}
+			
+			return previous;
+		}
+		
+		/**
+		 * Reads the unsigned value at the current position and advances past
+		 * it.
+		 * 
+		 * @return value - the value, whose bits are interpreted as unsigned
+		 */
+		private int readVarInt()
+		{
+			int value = 0;
+			int shift = 0;
+			int encodedByte = 0;
+			do
+			{
+				encodedByte = data[position++];
+				value |= (encodedByte & PAYLOAD_BITS) << shift;
+				shift += BITS_PER_BYTE;
+			}
+			while ((encodedByte & CONTINUATION_BIT) != 0);
+			
+			return value;
+		}
+	}
+}
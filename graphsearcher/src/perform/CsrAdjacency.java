@@ -0,0 +1,154 @@
+package perform;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Provides access to adjacencies which are stored in compressed sparse row
+ * form: the adjacent vertices of every vertex, in order of vertex ID, within
+ * a single array, and the position at which those of each vertex begin 
+ * within another.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class CsrAdjacency implements Adjacency
+{
+	/**
+	 * The position, within the targets, at which the adjacent vertices of
+	 * each vertex begin, followed by the number of adjacencies.
+	 */
+	private final int[] offsets;
+	
+	/**
+	 * The IDs of the adjacent vertices of every vertex, in order of vertex ID.
+	 */
+	private final int[] targets;
+	
+	/**
+	 * Initializes access to the specified adjacency arrays.
+	 * 
+	 * @param offsets - the position, within the targets, at which the 
+	 *     adjacent vertices of each vertex begin, followed by the number of 
+	 *     adjacencies
+	 * @param targets - the IDs of the adjacent vertices of every vertex, in 
+	 *     order of vertex ID
+	 */
+	CsrAdjacency(int[] offsets, int[] targets)
+	{
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+	
+	/**
+	 * Gathers the in-edges of every vertex of the specified graph by counting
+	 * sort of its adjacencies on their adjacent vertex. The vertices from 
+	 * which each vertex is adjacent are in order of vertex ID.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * 
+	 * @return reverseAdjacency - the vertices which exist in the graph with
+	 *     respect to the vertices from which they are adjacent
+	 */
+	static CsrAdjacency transpose(Adjacency adjacency)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		int[] inOffsets = new int[numOfVertices + 1];
+		for (int fromVertexId = 0; fromVertexId < numOfVertices; ++fromVertexId)
+		{
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+			while (adjs.hasNext() == true)
+			{
+				++inOffsets[adjs.nextInt() + 1];
+			}
+		}
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			inOffsets[vertexId + 1] += inOffsets[vertexId];
+		}
+		
+		int[] inSources = new int[inOffsets[numOfVertices]];
+		int[] nextPositions = Arrays.copyOf(inOffsets, numOfVertices);
+		for (int fromVertexId = 0; fromVertexId < numOfVertices; ++fromVertexId)
+		{
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+			while (adjs.hasNext() == true)
+			{
+				inSources[nextPositions[adjs.nextInt()]++] = fromVertexId;
+			}
+		}
+		
+		return new CsrAdjacency(inOffsets, inSources);
+	}
+	
+	/**
+	 * Returns the number of vertices of the graph.
+	 */
+	@Override
+	public int numOfVertices()
+	{
+		return offsets.length - 1;
+	}
+	
+	/**
+	 * Returns the number of adjacencies of the graph.
+	 */
+	@Override
+	public long numOfEdges()
+	{
+		return offsets[offsets.length - 1];
+	}
+	
+	/**
+	 * Returns the number of vertices adjacent to the specified vertex.
+	 */
+	@Override
+	public int degree(int vertexId)
+	{
+		return offsets[vertexId + 1] - offsets[vertexId];
+	}
+	
+	/**
+	 * Returns the position of the first adjacency of the specified vertex
+	 * within the targets.
+	 */
+	@Override
+	public int edgeOffset(int vertexId)
+	{
+		return offsets[vertexId];
+	}
+	
+	/**
+	 * Returns an iterator over the targets of the specified vertex.
+	 */
+	@Override
+	public PrimitiveIterator.OfInt neighbors(int vertexId)
+	{
+		final int end = offsets[vertexId + 1];
+		final int start = offsets[vertexId];
+		
+		return new PrimitiveIterator.OfInt()
+		{
+			private int position = start;
+			
+			@Override
+			public boolean hasNext()
+			{
+				return position < end;
+			}
+			
+			@Override
+			public int nextInt()
+			{
+				if (position >= end)
+				{
+					throw new NoSuchElementException();
+				}
+				return targets[position++];
+			}
+		};
+	}
+}
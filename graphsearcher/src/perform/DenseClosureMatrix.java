@@ -0,0 +1,38 @@
+package perform;
+
+/**
+ * Provides access to a transitive closure which is held in memory as a
+ * two-dimensional array.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class DenseClosureMatrix implements ClosureMatrix
+{
+	/**
+	 * A two-dimensional array in which each element represents the existence
+	 * of transitive closure from one vertex to another.
+	 */
+	private final boolean[][] transitiveClosureMatrix;
+	
+	/**
+	 * Initializes access to the specified closure.
+	 * 
+	 * @param transitiveClosureMatrix - a two-dimensional array in which each
+	 *     element represents the existence of transitive closure from one
+	 *     vertex to another
+	 */
+	DenseClosureMatrix(boolean[][] transitiveClosureMatrix)
+	{
+		this.transitiveClosureMatrix = transitiveClosureMatrix;
+	}
+	
+	/**
+	 * Returns the row of the specified vertex itself; the buffer is unused.
+	 */
+	@Override
+	public boolean[] row(int vertexFrom, boolean[] buffer)
+	{
+		return transitiveClosureMatrix[vertexFrom];
+	}
+}
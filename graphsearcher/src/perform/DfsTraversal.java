@@ -0,0 +1,421 @@
+package perform;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * The complete depth-first search of a graph from a single source vertex. 
+ * The search visits vertices in exactly the order of the search which stops
+ * at a destination vertex, so the order of discovery and the first 
+ * discovered path to any destination vertex can be recovered from it 
+ * without searching again.
+ * 
+ * <p>Vertices are numbered by rank, their position in the order of 
+ * discovery, and the parent of each vertex is the vertex which was being 
+ * examined when it was discovered. The parent chain of a vertex is the stack
+ * of the search at the moment the vertex was discovered.
+ * 
+ * <p>The rank of every vertex is kept in an array indexed by vertex ID, 
+ * unless the search discovers so few vertices that a map of their ranks is 
+ * smaller. A search may be bounded by the bytes it would occupy, in which 
+ * case it is abandoned as soon as it is certain to exceed them, and a 
+ * search whose array of ranks alone would exceed them keeps its ranks in a
+ * map from the start.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class DfsTraversal
+{
+	/**
+	 * The rank of a vertex which is not reachable from the source vertex.
+	 */
+	static final int UNDISCOVERED = -1;
+	
+	/**
+	 * The rank of the source vertex, whose parent is itself.
+	 */
+	private static final int SOURCE_RANK = 0;
+	
+	/**
+	 * The number of elements for which the arrays of a search are allocated
+	 * before they grow.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/**
+	 * The ID of the vertex from which the search began.
+	 */
+	private final int sourceVertexId;
+	
+	/**
+	 * The IDs of the discovered vertices in order of discovery, beginning 
+	 * with the source vertex.
+	 */
+	private final int[] discoveryOrder;
+	
+	/**
+	 * The rank of the parent of each discovered vertex, indexed by rank.
+	 */
+	private final int[] parentRanks;
+	
+	/**
+	 * The rank of each vertex, indexed by vertex ID; UNDISCOVERED if the 
+	 * vertex is not reachable from the source vertex. Null if the ranks are
+	 * kept in a map.
+	 */
+	private final int[] ranks;
+	
+	/**
+	 * The rank of each discovered vertex by vertex ID; null if the ranks are
+	 * kept in an array.
+	 */
+	private final LongIntHashMap sparseRanks;
+	
+	/**
+	 * Initializes a complete search of the specified discoveries.
+	 * 
+	 * @param sourceVertexId - the ID of the vertex from which the search 
+	 *     began
+	 * @param discoveryOrder - the IDs of the discovered vertices in order of
+	 *     discovery
+	 * @param parentRanks - the rank of the parent of each discovered vertex
+	 * @param ranks - the rank of each vertex, indexed by vertex ID; null if 
+	 *     the ranks are kept in a map
+	 * @param sparseRanks - the rank of each discovered vertex; null if the 
+	 *     ranks are kept in an array
+	 */
+	private DfsTraversal(
+		int sourceVertexId,
+		int[] discoveryOrder,
+		int[] parentRanks,
+		int[] ranks,
+		LongIntHashMap sparseRanks)
+	{
+		this.sourceVertexId = sourceVertexId;
+		this.discoveryOrder = discoveryOrder;
+		this.parentRanks = parentRanks;
+		this.ranks = ranks;
+		this.sparseRanks = sparseRanks;
+	}
+	
+	/**
+	 * Searches the specified graph from the specified source vertex until 
+	 * every reachable vertex has been discovered, unless the search is 
+	 * certain to occupy more than the specified number of bytes.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * @param sourceVertexId - the ID of the vertex from which to search
+	 * @param maxSizeInBytes - the greatest number of bytes which the search
+	 *     may occupy; Long.MAX_VALUE if the search is unbounded
+	 * 
+	 * @return traversal - the complete search; null if it was abandoned
+	 */
+	static DfsTraversal search(
+		Adjacency adjacency, int sourceVertexId, long maxSizeInBytes)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		long denseRanksSize = (long) numOfVertices * Integer.BYTES;
+		
+		int[] ranks = null;
+		LongIntHashMap sparseRanks = null;
+		if (minSizeInBytes(1, denseRanksSize) <= maxSizeInBytes)
+		{
+			ranks = new int[numOfVertices];
+			Arrays.fill(ranks, UNDISCOVERED);
+		}
+		else
+		{
+			sparseRanks = new LongIntHashMap();
+		}
+		int[] order = new int[INITIAL_CAPACITY];
+		int[] parents = new int[INITIAL_CAPACITY];
+		
+		// Every adjacency preceding the position of an examined vertex's 
+		// iterator is already discovered, so resuming the iterator finds the
+		// same undiscovered adjacency as examining the list from its start.
+		int[] stackRanks = new int[INITIAL_CAPACITY];
+		PrimitiveIterator.OfInt[] stackAdjs = 
+			new PrimitiveIterator.OfInt[INITIAL_CAPACITY];
+		int top = 0;
+		
+		int numOfDiscovered = 0;
+		discover(ranks, sparseRanks, sourceVertexId, numOfDiscovered);
+		order[numOfDiscovered] = sourceVertexId;
+		parents[numOfDiscovered++] = SOURCE_RANK;
+		stackRanks[top] = SOURCE_RANK;
+		stackAdjs[top] = adjacency.neighbors(sourceVertexId);
+		
+		while (top >= 0)
+		{
+			PrimitiveIterator.OfInt adjs = stackAdjs[top];
+			boolean popExaminedVertex = true;
+			while (adjs.hasNext() == true)
+			{
+				int adjVertexId = adjs.nextInt();
+				if (discover(ranks, sparseRanks, adjVertexId, numOfDiscovered)
+					== true)
+				{
+					if (minSizeInBytes(numOfDiscovered + 1, denseRanksSize) 
+						> maxSizeInBytes)
+					{
+						return null;
+					}
+					
+					if (numOfDiscovered == order.length)
+					{
+						order = Arrays.copyOf(order, order.length << 1);
+						parents = Arrays.copyOf(parents, parents.length << 1);
+					}
+					order[numOfDiscovered] = adjVertexId;
+					parents[numOfDiscovered] = stackRanks[top];
+					
+					++top;
+					if (top == stackRanks.length)
+					{
+						stackRanks = 
+							Arrays.copyOf(stackRanks, stackRanks.length << 1);
+						stackAdjs = 
+							Arrays.copyOf(stackAdjs, stackAdjs.length << 1);
+					}
+					stackRanks[top] = numOfDiscovered++;
+					stackAdjs[top] = adjacency.neighbors(adjVertexId);
+					
+					popExaminedVertex = false;
+					break;
+				}
+			}
+			
+			if (popExaminedVertex == true)
+			{
+				stackAdjs[top] = null;
+				--top;
+			}
+		}
+		
+		int[] discoveryOrder = Arrays.copyOf(order, numOfDiscovered);
+		int[] parentRanks = Arrays.copyOf(parents, numOfDiscovered);
+		
+		// A search which discovered few vertices keeps only their ranks.
+		if ((ranks != null) 
+			&& (LongIntHashMap.minSizeInBytes(numOfDiscovered) 
+			< denseRanksSize))
+		{
+			sparseRanks = new LongIntHashMap(numOfDiscovered);
+			for (int rank = 0; rank < numOfDiscovered; ++rank)
+			{
+				sparseRanks.put(discoveryOrder[rank], rank);
+			}
+			
+			if (sparseRanks.sizeInBytes() < denseRanksSize)
+			{
+				ranks = null;
+			}
+			else
+			{
+				sparseRanks = null;
+			}
+		}
+		
+		return new DfsTraversal(
+			sourceVertexId, discoveryOrder, parentRanks, ranks, sparseRanks);
+	}
+	
+	/**
+	 * Gives the specified vertex the specified rank unless it is already 
+	 * discovered.
+	 * 
+	 * @param ranks - the rank of each vertex, indexed by vertex ID; null if 
+	 *     the ranks are kept in a map
+	 * @param sparseRanks - the rank of each discovered vertex; null if the 
+	 *     ranks are kept in an array
+	 * @param vertexId - the ID of the vertex
+	 * @param rank - the rank of the vertex if it is undiscovered
+	 * 
+	 * @return discovered - true if the vertex was undiscovered; false 
+	 *     otherwise
+	 */
+	private static boolean discover(
+		int[] ranks, LongIntHashMap sparseRanks, int vertexId, int rank)
+	{
+		if (ranks == null)
+		{
+			return sparseRanks.putIfAbsent(vertexId, rank) == rank;
+		}
+		
+		if (ranks[vertexId] != UNDISCOVERED)
+		{
+			return false;
+		}
+		ranks[vertexId] = rank;
+		return true;
+	}
+	
+	/**
+	 * Returns the least number of bytes which a search of the specified 
+	 * number of discovered vertices occupies, whichever way its ranks are 
+	 * kept.
+	 * 
+	 * @param numOfDiscovered - the number of discovered vertices
+	 * @param denseRanksSize - the number of bytes of an array of the rank of
+	 *     every vertex
+	 * 
+	 * @return minSizeInBytes - the least number of bytes of the search
+	 */
+	private static long minSizeInBytes(
+		int numOfDiscovered, long denseRanksSize)
+	{
+		return (long) numOfDiscovered * Integer.BYTES * 2 + Math.min(
+			denseRanksSize, LongIntHashMap.minSizeInBytes(numOfDiscovered));
+	}
+	
+	/**
+	 * Returns the ID of the vertex from which the search began.
+	 * 
+	 * @return sourceVertexId - the ID of the vertex from which the search 
+	 *     began
+	 */
+	int getSourceVertexId()
+	{
+		return sourceVertexId;
+	}
+	
+	/**
+	 * Returns whether the search discovers the specified destination vertex.
+	 * The source vertex is never discovered, as it is where the search 
+	 * begins.
+	 * 
+	 * @param destVertexId - the ID of the destination vertex
+	 * 
+	 * @return reaches - true if the destination vertex is discovered; false 
+	 *     otherwise
+	 */
+	boolean reaches(int destVertexId)
+	{
+		return rankOf(destVertexId) > SOURCE_RANK;
+	}
+	
+	/**
+	 * Returns the vertices discovered before the search would reach the 
+	 * specified destination vertex, beginning with the source vertex and 
+	 * ending with the destination vertex.
+	 * 
+	 * @param destVertexId - the ID of the destination vertex, which must be
+	 *     discovered by the search
+	 * 
+	 * @return orderOfDiscovery - the IDs of the vertices in order of 
+	 *     discovery
+	 */
+	int[] orderOfDiscoveryTo(int destVertexId)
+	{
+		return Arrays.copyOf(discoveryOrder, rankOf(destVertexId) + 1);
+	}
+	
+	/**
+	 * Returns the first discovered path from the source vertex to the 
+	 * specified destination vertex.
+	 * 
+	 * @param destVertexId - the ID of the destination vertex, which must be
+	 *     discovered by the search
+	 * 
+	 * @return path - the IDs of the vertices along the path, beginning with 
+	 *     the source vertex and ending with the destination vertex
+	 */
+	int[] pathTo(int destVertexId)
+	{
+		int length = 1;
+		for (int rank = rankOf(destVertexId); rank != SOURCE_RANK; ++length)
+		{
+			rank = parentRanks[rank];
+		}
+		
+		int[] path = new int[length];
+		int rank = rankOf(destVertexId);
+		for (int n = length - 1; n >= 0; --n)
+		{
+			path[n] = discoveryOrder[rank];
+			rank = parentRanks[rank];
+		}
+		
+		return path;
+	}
+	
+	/**
+	 * Returns the number of vertices discovered by the search, including the
+	 * source vertex.
+	 * 
+	 * @return numOfDiscovered - the number of vertices reachable from the 
+	 *     source vertex, including the source vertex
+	 */
+	int getNumOfDiscovered()
+	{
+		return discoveryOrder.length;
+	}
+	
+	/**
+	 * Returns the rank of the specified vertex.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return rank - the position of the vertex in the order of discovery; 
+	 *     UNDISCOVERED if the vertex is not reachable from the source vertex
+	 */
+	int rankOf(int vertexId)
+	{
+		if (ranks == null)
+		{
+			return sparseRanks.get(vertexId, UNDISCOVERED);
+		}
+		
+		return ranks[vertexId];
+	}
+	
+	/**
+	 * Returns the vertex of the specified rank.
+	 * 
+	 * @param rank - the position of the vertex in the order of discovery
+	 * 
+	 * @return vertexId - the ID of the vertex
+	 */
+	int vertexAt(int rank)
+	{
+		return discoveryOrder[rank];
+	}
+	
+	/**
+	 * Returns the rank of the parent of the vertex of the specified rank.
+	 * 
+	 * @param rank - the position of the vertex in the order of discovery
+	 * 
+	 * @return parentRank - the rank of the vertex which was being examined 
+	 *     when the vertex was discovered; the rank of the source vertex for 
+	 *     the source vertex itself
+	 */
+	int parentRankOf(int rank)
+	{
+		return parentRanks[rank];
+	}
+	
+	/**
+	 * Returns the approximate number of bytes which this search occupies.
+	 * 
+	 * @return sizeInBytes - the number of bytes of the arrays of this search
+	 */
+	long sizeInBytes()
+	{
+		long ranksSize = 0;
+		if (ranks == null)
+		{
+			ranksSize = sparseRanks.sizeInBytes();
+		}
+		else
+		{
+			ranksSize = (long) ranks.length * Integer.BYTES;
+		}
+		
+		return 
+			((long) discoveryOrder.length + parentRanks.length) * Integer.BYTES
+			+ ranksSize;
+	}
+}
@@ -0,0 +1,344 @@
+package perform;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * The dominator tree of a directed graph rooted at a single source vertex,
+ * found by the Lengauer-Tarjan algorithm. A vertex dominates another if
+ * every path from the source vertex to the other vertex passes through it;
+ * the immediate dominator of a vertex is the dominator nearest to it, and
+ * is its parent in the tree.
+ * 
+ * <p>The vertices are numbered by rank within the complete depth-first
+ * search from the source vertex, which is iterative, so deep graphs do not
+ * exhaust the stack. Semidominators are found in decreasing order of rank
+ * over a forest linked in the same order, whose paths are compressed as
+ * they are evaluated, again without recursion. Once the tree is built, each
+ * vertex is given the interval of the tree's preorder which its subtree
+ * spans, so whether one vertex dominates another is answered in constant
+ * time by comparing their intervals.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class DominatorTree
+{
+	/**
+	 * The ancestor, within the forest, of a vertex which has not been linked
+	 * to it.
+	 */
+	private static final int NO_ANCESTOR = -1;
+	
+	/**
+	 * The end of a bucket.
+	 */
+	private static final int END_OF_BUCKET = -1;
+	
+	/**
+	 * The rank of the source vertex, the root of the tree.
+	 */
+	private static final int ROOT_RANK = 0;
+	
+	/**
+	 * The complete depth-first search from the source vertex, by whose ranks
+	 * the vertices are numbered.
+	 */
+	private final DfsTraversal traversal;
+	
+	/**
+	 * The rank of the immediate dominator of each reachable vertex, indexed
+	 * by rank; the root's own rank for the root.
+	 */
+	private final int[] idomRanks;
+	
+	/**
+	 * The position of each reachable vertex within the preorder of the tree,
+	 * indexed by rank.
+	 */
+	private final int[] preorders;
+	
+	/**
+	 * The number of vertices of the subtree of each reachable vertex,
+	 * including the vertex, indexed by rank.
+	 */
+	private final int[] subtreeSizes;
+	
+	/**
+	 * Builds the dominator tree of the graph rooted at the source vertex of
+	 * the specified search.
+	 * 
+	 * @param reverseAdjacency - the vertices which exist in the graph with
+	 *     respect to the vertices from which they are adjacent
+	 * @param traversal - the complete depth-first search of the graph from
+	 *     the source vertex
+	 */
+	DominatorTree(Adjacency reverseAdjacency, DfsTraversal traversal)
+	{
+		this.traversal = traversal;
+		
+		int numOfDiscovered = traversal.getNumOfDiscovered();
+		
+		idomRanks = new int[numOfDiscovered];
+		findImmediateDominators(reverseAdjacency);
+		
+		preorders = new int[numOfDiscovered];
+		subtreeSizes = new int[numOfDiscovered];
+		numberSubtrees();
+	}
+	
+	/**
+	 * Returns the ID of the source vertex, the root of the tree.
+	 * 
+	 * @return sourceVertexId - the ID of the source vertex
+	 */
+	int getSourceVertexId()
+	{
+		return traversal.getSourceVertexId();
+	}
+	
+	/**
+	 * Returns whether the specified vertex is reachable from the source
+	 * vertex, which is reachable from itself.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return reachable - true if the vertex belongs to the tree; false
+	 *     otherwise
+	 */
+	boolean reaches(int vertexId)
+	{
+		return traversal.rankOf(vertexId) != DfsTraversal.UNDISCOVERED;
+	}
+	
+	/**
+	 * Returns whether every path from the source vertex to the specified
+	 * vertex passes through the specified dominator, in constant time.
+	 * Every vertex dominates itself, and no vertex dominates one which is
+	 * not reachable.
+	 * 
+	 * @param dominatorId - the ID of the possible dominator
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return dominates - true if both vertices are reachable and the
+	 *     subtree of the dominator holds the vertex; false otherwise
+	 */
+	boolean dominates(int dominatorId, int vertexId)
+	{
+		int dominatorRank = traversal.rankOf(dominatorId);
+		int rank = traversal.rankOf(vertexId);
+		if ((dominatorRank == DfsTraversal.UNDISCOVERED)
+			|| (rank == DfsTraversal.UNDISCOVERED))
+		{
+			return false;
+		}
+		
+		int preorder = preorders[rank];
+		int dominatorPreorder = preorders[dominatorRank];
+		return (preorder >= dominatorPreorder)
+			&& (preorder < dominatorPreorder + subtreeSizes[dominatorRank]);
+	}
+	
+	/**
+	 * Returns the dominators of the specified vertex, which every path from
+	 * the source vertex to it passes through.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return dominators - the IDs of the dominators, beginning with the
+	 *     source vertex and ending with the vertex; null if the vertex is not
+	 *     reachable
+	 */
+	int[] dominatorsOf(int vertexId)
+	{
+		int rank = traversal.rankOf(vertexId);
+		if (rank == DfsTraversal.UNDISCOVERED)
+		{
+			return null;
+		}
+		
+		int length = 1;
+		for (int dominatorRank = rank; dominatorRank != ROOT_RANK; ++length)
+		{
+			dominatorRank = idomRanks[dominatorRank];
+		}
+		
+		int[] dominators = new int[length];
+		int dominatorRank = rank;
+		for (int n = length - 1; n >= 0; --n)
+		{
+			dominators[n] = traversal.vertexAt(dominatorRank);
+			dominatorRank = idomRanks[dominatorRank];
+		}
+		
+		return dominators;
+	}
+	
+	/**
+	 * Finds the immediate dominator of every reachable vertex by the
+	 * Lengauer-Tarjan algorithm with path compression.
+	 * 
+	 * @param reverseAdjacency - the vertices which exist in the graph with
+	 *     respect to the vertices from which they are adjacent
+	 */
+	private void findImmediateDominators(Adjacency reverseAdjacency)
+	{
+		int numOfDiscovered = traversal.getNumOfDiscovered();
+		
+		int[] semiRanks = new int[numOfDiscovered];
+		int[] labels = new int[numOfDiscovered];
+		int[] ancestors = new int[numOfDiscovered];
+		int[] bucketHeads = new int[numOfDiscovered];
+		int[] bucketNexts = new int[numOfDiscovered];
+		int[] compressStack = new int[numOfDiscovered];
+		for (int rank = 0; rank < numOfDiscovered; ++rank)
+		{
+			semiRanks[rank] = rank;
+			labels[rank] = rank;
+		}
+		Arrays.fill(ancestors, NO_ANCESTOR);
+		Arrays.fill(bucketHeads, END_OF_BUCKET);
+		
+		for (int rank = numOfDiscovered - 1; rank > ROOT_RANK; --rank)
+		{
+			// The semidominator is the least rank from which a path of
+			// higher ranks leads to the vertex.
+			PrimitiveIterator.OfInt inAdjs =
+				reverseAdjacency.neighbors(traversal.vertexAt(rank));
+			while (inAdjs.hasNext() == true)
+			{
+				int inAdjRank = traversal.rankOf(inAdjs.nextInt());
+				if (inAdjRank == DfsTraversal.UNDISCOVERED)
+				{
+					continue;
+				}
+				
+				int minRank = evaluate(
+					inAdjRank, semiRanks, labels, ancestors, compressStack);
+				if (semiRanks[minRank] < semiRanks[rank])
+				{
+					semiRanks[rank] = semiRanks[minRank];
+				}
+			}
+			bucketNexts[rank] = bucketHeads[semiRanks[rank]];
+			bucketHeads[semiRanks[rank]] = rank;
+			
+			int parentRank = traversal.parentRankOf(rank);
+			ancestors[rank] = parentRank;
+			
+			// Every vertex whose semidominator is the parent is dominated
+			// either by the parent or by a vertex of the same immediate
+			// dominator, which the second pass resolves.
+			for (
+				int bucketRank = bucketHeads[parentRank];
+				bucketRank != END_OF_BUCKET;
+				bucketRank = bucketNexts[bucketRank])
+			{
+				int minRank = evaluate(
+					bucketRank, semiRanks, labels, ancestors, compressStack);
+				if (semiRanks[minRank] < semiRanks[bucketRank])
+				{
+					idomRanks[bucketRank] = minRank;
+				}
+				else
+				{
+					idomRanks[bucketRank] = parentRank;
+				}
+			}
+			bucketHeads[parentRank] = END_OF_BUCKET;
+		}
+		
+		idomRanks[ROOT_RANK] = ROOT_RANK;
+		for (int rank = ROOT_RANK + 1; rank < numOfDiscovered; ++rank)
+		{
+			if (idomRanks[rank] != semiRanks[rank])
+			{
+				idomRanks[rank] = idomRanks[idomRanks[rank]];
+			}
+		}
+	}
+	
+	/**
+	 * Returns the vertex of least semidominator along the path of the forest
+	 * from the specified vertex up to, but excluding, the root of its tree,
+	 * compressing the path so that later evaluations skip it.
+	 * 
+	 * @param rank - the rank of the vertex
+	 * @param semiRanks - the rank of the semidominator of each vertex
+	 * @param labels - the rank of the vertex of least semidominator along
+	 *     the compressed path above each vertex
+	 * @param ancestors - the ancestor of each vertex within the forest
+	 * @param compressStack - room for the path which is compressed
+	 * 
+	 * @return minRank - the rank of the vertex of least semidominator; the
+	 *     vertex itself if it is the root of its tree
+	 */
+	private static int evaluate(
+		int rank,
+		int[] semiRanks,
+		int[] labels,
+		int[] ancestors,
+		int[] compressStack)
+	{
+		if (ancestors[rank] == NO_ANCESTOR)
+		{
+			return rank;
+		}
+		
+		// Gather the path below the last vertex whose ancestor is a root.
+		int top = -1;
+		for (
+			int pathRank = rank;
+			ancestors[ancestors[pathRank]] != NO_ANCESTOR;
+			pathRank = ancestors[pathRank])
+		{
+			compressStack[++top] = pathRank;
+		}
+		
+		// Compress from the top of the path down, so that each vertex adopts
+		// the label and the ancestor of an already compressed ancestor.
+		while (top >= 0)
+		{
+			int pathRank = compressStack[top--];
+			int ancestorRank = ancestors[pathRank];
+			if (semiRanks[labels[ancestorRank]] < semiRanks[labels[pathRank]])
+			{
+				labels[pathRank] = labels[ancestorRank];
+			}
+			ancestors[pathRank] = ancestors[ancestorRank];
+		}
+		
+		return labels[rank];
+	}
+	
+	/**
+	 * Numbers the tree in preorder and counts the vertices of each subtree.
+	 * Since the immediate dominator of a vertex is an ancestor within the
+	 * depth-first search, it precedes the vertex in rank, so subtrees are
+	 * counted in decreasing order of rank and numbered in increasing order
+	 * of rank, each subtree directly after the subtrees of its earlier
+	 * siblings.
+	 */
+	private void numberSubtrees()
+	{
+		int numOfDiscovered = idomRanks.length;
+		
+		Arrays.fill(subtreeSizes, 1);
+		for (int rank = numOfDiscovered - 1; rank > ROOT_RANK; --rank)
+		{
+			subtreeSizes[idomRanks[rank]] += subtreeSizes[rank];
+		}
+		
+		// The next unnumbered position within the subtree of each vertex.
+		int[] nextPreorders = new int[numOfDiscovered];
+		preorders[ROOT_RANK] = 0;
+		nextPreorders[ROOT_RANK] = 1;
+		for (int rank = ROOT_RANK + 1; rank < numOfDiscovered; ++rank)
+		{
+			int idomRank = idomRanks[rank];
+			preorders[rank] = nextPreorders[idomRank];
+			nextPreorders[idomRank] += subtreeSizes[rank];
+			nextPreorders[rank] = preorders[rank] + 1;
+		}
+	}
+}
@@ -3,11 +3,14 @@ package perform;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedList;
+import java.util.PrimitiveIterator;
 import java.util.Scanner;
 
 import exceptions.CannotReadGraphFileException;
@@ -35,6 +38,12 @@ final class Graph
 	 */
 	private static final int TWO_VERTICES = 2;
 	
+	/**
+	 * The quantity of two vertices and the weight of the adjacency between
+	 * them.
+	 */
+	private static final int TWO_VERTICES_AND_WEIGHT = 3;
+	
 	/**
 	 * The index, in a two element long, adjacency array, of the vertex from
 	 * which the adjacent vertex is reachable.
@@ -47,6 +56,12 @@ final class Graph
 	 */
 	private static final int TO_VERTEX = 1;
 	
+	/**
+	 * The index, in a three element long, weighted adjacency array, of the 
+	 * weight of the adjacency.
+	 */
+	private static final int WEIGHT = 2;
+	
 	/**
 	 * The lowest ID that a vertex may have.
 	 */
@@ -83,27 +98,167 @@ final class Graph
 	private ArrayList<Vertex> vertexList;
 	
 	/**
-	 * The list of vertices which exist in the graph with respect to their
-	 * adjacent vertices.
+	 * The position, within the adjacency targets, at which the adjacent 
+	 * vertices of each vertex begin, followed by the number of adjacencies.
+	 */
+	private int[] adjOffsets;
+	
+	/**
+	 * The IDs of the adjacent vertices of every vertex, in order of vertex ID
+	 * and sorted within each vertex; null if compressed adjacencies were
+	 * specified.
+	 */
+	private int[] adjTargets;
+	
+	/**
+	 * The vertices which exist in the graph with respect to their adjacent 
+	 * vertices, as read by the searches of the graph. Either wraps the 
+	 * adjacency arrays or, if compressed adjacencies were specified, replaces 
+	 * the adjacency targets.
+	 */
+	private Adjacency adjacency;
+	
+	/**
+	 * The vertices which exist in the graph with respect to the vertices 
+	 * from which they are adjacent, in the same form as the adjacencies; 
+	 * null until the in-edges are first needed, unless a reverse index was
+	 * specified.
+	 */
+	private Adjacency reverseAdjacency;
+	
+	/**
+	 * The weight of each adjacency, parallel to the adjacency targets; null 
+	 * if no weights were specified within the graph file.
+	 */
+	private double[] adjWeights;
+	
+	/**
+	 * The number of repeated adjacencies which were removed as the graph was
+	 * read.
+	 */
+	private long numOfRepeatedAdjs;
+	
+	/**
+	 * The shape of the graph, from which the strategies by which it is 
+	 * searched are chosen; null until it is first needed.
+	 */
+	private GraphProfile profile;
+	
+	// Vertex relabeling
+	/**
+	 * The optional behaviors which alter how the graph is read and processed.
+	 */
+	private final GraphOptions options;
+	
+	/**
+	 * An array in which each element is the ID, as specified within the graph
+	 * file, of the vertex whose original ID is the element's index; null if
+	 * the IDs of the graph file are the original IDs. The original ID of a
+	 * vertex is its rank among the IDs of the graph file.
+	 */
+	private long[] fileIds;
+	
+	/**
+	 * Maps the ID, as specified within the graph file, of each vertex to its
+	 * original ID; null if the IDs of the graph file are the original IDs.
+	 */
+	private LongIntHashMap originalIdsOfFileIds;
+	
+	/**
+	 * An array in which each element is the original ID of the vertex whose 
+	 * internal ID is the element's index; null if the vertices have not been 
+	 * relabeled.
+	 */
+	private int[] originalIds;
+	
+	/**
+	 * An array in which each element is the internal ID of the vertex whose
+	 * original ID is the element's index; null if the vertices have not been 
+	 * relabeled.
+	 */
+	private int[] internalIds;
+	
+	// Query caching
+	/**
+	 * The complete depth-first searches from the most recently queried 
+	 * source vertices; null if searches are not cached.
+	 */
+	private final TraversalCache traversalCache;
+	
+	/**
+	 * The dominator tree rooted at the most recently queried source vertex;
+	 * null until dominators are first queried.
 	 */
-	private ArrayList<ArrayList<Integer>> adjList;
+	private DominatorTree dominatorTree;
 	
+	// Results
 	/**
-	 * A two-dimensional array in which each element represents the existence
-	 * of an adjacency from one vertex to another.
+	 * The stream to which the results of the graph are printed.
 	 */
-	private boolean[][] adjMatrix;
+	private final PrintStream output;
 	
 	// Constructors
 	/** 
 	 * Initializes the data structures, which represent the directed graph, 
-	 * to null.
+	 * to null and uses the default options.
 	 */
 	Graph()
 	{
+		this(new GraphOptions());
+	}
+	
+	/** 
+	 * Initializes the data structures, which represent the directed graph, 
+	 * to null and uses the specified options.
+	 * 
+	 * @param options - the optional behaviors which alter how the graph is 
+	 *     read and processed
+	 */
+	Graph(GraphOptions options)
+	{
+		this(options, System.out);
+	}
+	
+	/** 
+	 * Initializes the data structures, which represent the directed graph, 
+	 * to null, uses the specified options and prints the results of the 
+	 * graph to the specified stream rather than to the console.
+	 * 
+	 * @param options - the optional behaviors which alter how the graph is 
+	 *     read and processed
+	 * @param output - the stream to which the results of the graph are 
+	 *     printed
+	 */
+	Graph(GraphOptions options, PrintStream output)
+	{
+		this.options = options;
+		this.output = output;
+		
 		vertexList = null;
-		adjList = null;
-		adjMatrix = null;
+		adjOffsets = null;
+		adjTargets = null;
+		adjacency = null;
+		reverseAdjacency = null;
+		adjWeights = null;
+		numOfRepeatedAdjs = 0;
+		profile = null;
+		
+		fileIds = null;
+		originalIdsOfFileIds = null;
+		originalIds = null;
+		internalIds = null;
+		
+		dominatorTree = null;
+		
+		if (options.getTraversalCacheCapacity() > 0)
+		{
+			traversalCache = 
+				new TraversalCache(options.getTraversalCacheCapacity());
+		}
+		else
+		{
+			traversalCache = null;
+		}
 	}
 	
 	// Methods
@@ -140,6 +295,12 @@ final class Graph
 		
 		int[] sourceDest = readSourceDest();
 		
+		if (options.getOutputFormat() == OutputFormat.BINARY)
+		{
+			writeGraphStats(sourceDest);
+			return;
+		}
+		
 		String[] sourceDestPathAndOrderOfDiscovery = 
 			dfsSearch(sourceDest);
 		String orderOfDiscovery = 
@@ -151,20 +312,327 @@ final class Graph
 		
 		boolean cycleExists = cycleSearch();
 		
+		String components = null;
+		if (options.isStronglyConnectedComponents() == true)
+		{
+			components = componentSearch();
+		}
+		
+		String dominatorPath = null;
+		if (options.isDominators() == true)
+		{
+			dominatorPath = dominatorSearch(sourceDest);
+		}
+		
+		String fewestHopsPath = null;
+		if (options.isParallelBfs() == true)
+		{
+			fewestHopsPath = bfsSearch(sourceDest);
+		}
+		
+		String budgetedPath = null;
+		if (options.isSearchBudgeted() == true)
+		{
+			budgetedPath = budgetedSearch(sourceDest);
+		}
+		
+		String shortestPath = null;
+		if (options.getShortestPathAlgorithm() != ShortestPathAlgorithm.NONE)
+		{
+			shortestPath = shortestPathSearch(sourceDest);
+		}
+		
+		String profileStats = null;
+		if (options.isGraphProfile() == true)
+		{
+			profileStats = profile().format();
+		}
+		
 		printGraphStats(
 			sourceDest,
 			sourceDestPath, 
 			orderOfDiscovery, 
 			transitiveClosureEdges,
-			cycleExists);
+			cycleExists,
+			components,
+			dominatorPath,
+			fewestHopsPath,
+			budgetedPath,
+			shortestPath,
+			profileStats);
+	}
+	
+	/**
+	 * Performs a depth-first search of the graph, which must already have 
+	 * been read, from the specified source vertex to the specified 
+	 * destination vertex and formats the order of discovery of the vertices 
+	 * and the first discovered path. Queries of one graph are answered one 
+	 * at a time because the searches color its vertices.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the depth-first search of the graph
+	 *     
+	 * @return dfsStats - one line for each statistic of the depth-first 
+	 *     search
+	 */
+	synchronized String queryPath(int[] sourceDest)
+	{
+		String[] sourceDestPathAndOrderOfDiscovery = 
+			cachedDfsSearch(sourceDest);
+		
+		return formatDfsStats(
+			sourceDest, 
+			sourceDestPathAndOrderOfDiscovery[SOURCE_DEST_PATH], 
+			sourceDestPathAndOrderOfDiscovery[ORDER_OF_DISCOVERY]);
+	}
+	
+	/**
+	 * Determines whether the specified destination vertex is reachable from
+	 * the specified source vertex of the graph, which must already have been
+	 * read.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the depth-first search of the graph
+	 *     
+	 * @return reachable - true if a path from the source vertex to the 
+	 *     destination vertex exists; false otherwise
+	 */
+	synchronized boolean queryReachable(int[] sourceDest)
+	{
+		DfsTraversal traversal = null;
+		if (traversalCache != null)
+		{
+			traversal = 
+				cachedTraversal(toInternalId(sourceDest[SOURCE_VERTEX]));
+		}
+		if (traversal == null)
+		{
+			String[] sourceDestPathAndOrderOfDiscovery = dfsSearch(sourceDest);
+			
+			return sourceDestPathAndOrderOfDiscovery[SOURCE_DEST_PATH].equals(
+				"Not Found") == false;
+		}
+		
+		return traversal.reaches(toInternalId(sourceDest[DEST_VERTEX]));
+	}
+	
+	/**
+	 * Formats the hits, misses, and evictions of the cached depth-first 
+	 * searches of the graph.
+	 * 
+	 * @return metrics - the labeled metrics of the cache; a note that 
+	 *     searches are not cached if they are not
+	 */
+	synchronized String queryTraversalCacheMetrics()
+	{
+		if (traversalCache == null)
+		{
+			return "[Traversal Cache] Disabled";
+		}
+		
+		return traversalCache.formatMetrics();
+	}
+	
+	/**
+	 * Determines and formats the transitive closure edges of the graph, which
+	 * must already have been read.
+	 * 
+	 * @return transitiveClosureStats - the labeled transitive closure edges
+	 */
+	synchronized String queryTransitiveClosure()
+		throws IOException
+	{
+		return formatTransitiveClosureStats(transitiveClosure());
+	}
+	
+	/**
+	 * Determines and formats whether the graph, which must already have been
+	 * read, is cyclic.
+	 * 
+	 * @return cycleStats - the labeled determination
+	 */
+	synchronized String queryCycle()
+	{
+		return formatCycleStats(cycleSearch());
+	}
+	
+	/**
+	 * Determines and formats the strongly connected components of the graph,
+	 * which must already have been read.
+	 * 
+	 * @return componentStats - the labeled components
+	 */
+	synchronized String queryComponents()
+	{
+		return formatComponentStats(componentSearch());
+	}
+	
+	/**
+	 * Profiles the graph, which must already have been read, and formats the
+	 * profile.
+	 * 
+	 * @return profileStats - the labeled statistics of the graph and the 
+	 *     strategies chosen from them
+	 */
+	synchronized String queryProfile()
+	{
+		return profile().format();
+	}
+	
+	/**
+	 * Gathers and formats the vertices from which the specified vertex of 
+	 * the graph, which must already have been read, is adjacent. The 
+	 * in-edges of every vertex are gathered by the first such query unless
+	 * they were gathered as the graph was read.
+	 * 
+	 * @param vertexId - the original ID of the vertex
+	 * 
+	 * @return predecessorStats - the labeled IDs of the vertices from which
+	 *     the vertex is adjacent, in order of their IDs within the graph 
+	 *     file, followed by their number
+	 */
+	synchronized String queryPredecessors(int vertexId)
+	{
+		if (reverseAdjacency == null)
+		{
+			indexInEdges();
+		}
+		
+		int internalId = toInternalId(vertexId);
+		long[] predecessors = new long[reverseAdjacency.degree(internalId)];
+		PrimitiveIterator.OfInt inAdjs = reverseAdjacency.neighbors(internalId);
+		for (int n = 0; n < predecessors.length; ++n)
+		{
+			predecessors[n] = toFileId(toOriginalId(inAdjs.nextInt()));
+		}
+		Arrays.sort(predecessors);
+		
+		StringBuilder predecessorStats = new StringBuilder(
+			"[Predecessors: " + toFileId(vertexId) + "] ");
+		for (int n = 0; n < predecessors.length; ++n)
+		{
+			if (n > 0)
+			{
+				predecessorStats.append(", ");
+			}
+			predecessorStats.append(predecessors[n]);
+		}
+		if (predecessors.length > 0)
+		{
+			predecessorStats.append(' ');
+		}
+		predecessorStats.append("(In-Degree: " + predecessors.length + ")");
+		
+		return predecessorStats.toString();
+	}
+	
+	/**
+	 * Performs a depth-first search of the graph, which must already have 
+	 * been read, from the specified source vertex for the specified 
+	 * destination vertex within the search budget of the options, and 
+	 * formats its outcome.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return budgetedStats - the labeled outcome
+	 */
+	synchronized String queryBudgetedPath(int[] sourceDest)
+	{
+		return formatBudgetedStats(sourceDest, budgetedSearch(sourceDest));
+	}
+	
+	/**
+	 * Determines and formats the dominators of the specified destination 
+	 * vertex, from the specified source vertex of the graph, which must 
+	 * already have been read.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return dominatorStats - the labeled dominators
+	 */
+	synchronized String queryDominators(int[] sourceDest)
+	{
+		return formatDominatorStats(sourceDest, dominatorSearch(sourceDest));
+	}
+	
+	/**
+	 * Determines whether every path from the specified source vertex to the 
+	 * specified destination vertex of the graph, which must already have been
+	 * read, passes through the specified vertex. Once the dominator tree of 
+	 * the source vertex has been built, each such query takes constant time.
+	 * 
+	 * @param vertexId - the original ID of the vertex
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return passesThrough - true if the destination vertex is reachable 
+	 *     and every path to it passes through the vertex; false otherwise
+	 */
+	synchronized boolean queryPassesThrough(int vertexId, int[] sourceDest)
+	{
+		DominatorTree tree = 
+			dominatorTree(toInternalId(sourceDest[SOURCE_VERTEX]));
+		
+		return tree.dominates(
+			toInternalId(vertexId), toInternalId(sourceDest[DEST_VERTEX]));
+	}
+	
+	/**
+	 * Determines and formats the path of fewest edges from the specified 
+	 * source vertex to the specified destination vertex of the graph, which
+	 * must already have been read.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return fewestHopsStats - the labeled path
+	 */
+	synchronized String queryFewestHopsPath(int[] sourceDest)
+	{
+		return formatFewestHopsStats(sourceDest, bfsSearch(sourceDest));
+	}
+	
+	/**
+	 * Determines and formats the shortest weighted path from the specified 
+	 * source vertex to the specified destination vertex of the graph, which
+	 * must already have been read.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return shortestPathStats - the labeled shortest path
+	 */
+	synchronized String queryShortestPath(int[] sourceDest)
+	{
+		return formatShortestPathStats(
+			sourceDest, shortestPathSearch(sourceDest));
 	}
 	
 	/**
-	 * Reads the specified graph file and populates the vertex list, adjacency
-	 * list, and adjacency matrix accordingly. 
+	 * Reads the specified graph file and populates the vertex list and 
+	 * adjacency arrays accordingly. Relabels the vertices if an ordering 
+	 * other than the IDs of the graph file was specified.
+	 * 
+	 * <p>The graph file is read twice. The first pass only counts the 
+	 * vertices and the out-degree of each vertex, so that the second pass can
+	 * fill adjacency arrays of exactly the right size in place. No edge is 
+	 * ever held in memory other than in its final position. A graph file 
+	 * which is compressed, or streamed from standard input, is read through
+	 * a GraphSource.
+	 * 
+	 * <p>If sparse IDs were specified, the IDs of the graph file may be any 
+	 * long integers and are mapped to original IDs between 0 and (the number 
+	 * of vertices - 1) in ascending order. Otherwise, the IDs of the graph 
+	 * file are the original IDs.
+	 * 
+	 * <p>If compressed adjacencies were specified, the adjacency targets are 
+	 * gap-encoded once they have been populated and are then discarded.
 	 * 
 	 * @param graphFilePath - the path of the text file which represents the 
-	 * directed graph
+	 * directed graph, or GraphSource.STDIN_PATH to stream it from standard 
+	 * input
 	 * 
 	 * @throws CannotReadGraphFileException - if the specified text file which 
 	 *     represents the directed graph could not be read
@@ -173,24 +641,58 @@ final class Graph
 	 * @throws IOException - if an error related to an IO event disrupted this
 	 *     program's execution
 	 */
-	private void readInputGraph(String graphFilePath)
+	void readInputGraph(String graphFilePath)
 		throws CannotReadGraphFileException, InvalidEdgeException, IOException
 	{	
-		File graphFile = new File(graphFilePath);
+		GraphSource graphSource = GraphSource.open(graphFilePath);
+		try
+		{
+			countVerticesAndOutDegrees(graphSource);
+			
+			populateAdjs(graphSource);
+		}
+		finally
+		{
+			graphSource.close();
+		}
 		
-		ArrayList<Integer[]> adjs = populateVertexListAndGatherAdjs(graphFile);
+		relabelVertices(options.getVertexOrdering());
 		
-		populateAdjListAndAdjMatrix(adjs);
+		adjacency = new CsrAdjacency(adjOffsets, adjTargets);
+		if (options.isReverseIndex() == true)
+		{
+			indexInEdges();
+		}
+		if (options.isCompressedAdjacency() == true)
+		{
+			adjacency = new CompressedAdjacency(adjacency);
+			adjTargets = null;
+		}
 	}
 	
 	/**
-	 * Populates the vertex list and gathers the adjacencies which will be used
-	 * to populate the adjacency list and adjacency matrix.
-	 * 
-	 * @param graphFilePath - the text file which represents the directed 
-	 *     graph
+	 * Gathers the in-edges of every vertex, by counting sort of the 
+	 * adjacencies on their adjacent vertex, and compresses them if the 
+	 * adjacencies are compressed. Costs one more integer per adjacency.
+	 */
+	private void indexInEdges()
+	{
+		reverseAdjacency = CsrAdjacency.transpose(adjacency);
+		if (options.isCompressedAdjacency() == true)
+		{
+			reverseAdjacency = new CompressedAdjacency(reverseAdjacency);
+		}
+	}
+	
+	/**
+	 * Reads the specified graph file once, validating every edge, and 
+	 * allocates the vertex list and the adjacency arrays. Afterwards, the 
+	 * adjacency offsets hold the position at which the adjacencies of each 
+	 * vertex begin, by original ID, and the adjacency targets and weights 
+	 * have room for exactly the number of edges of the graph file.
 	 * 
-	 * @return adjs - the adjacencies existent in the graph
+	 * @param graphSource - the source of the text file which represents the
+	 *     directed graph
 	 * 
 	 * @throws CannotReadGraphFileException - if the specified text file which 
 	 *     represents the directed graph could not be read
@@ -199,57 +701,121 @@ final class Graph
 	 * @throws IOException - if an error related to an IO event disrupted this
 	 *     program's execution
 	 */
-	private ArrayList<Integer[]> populateVertexListAndGatherAdjs(
-		File graphFile)
+	private void countVerticesAndOutDegrees(GraphSource graphSource)
 		throws CannotReadGraphFileException, InvalidEdgeException, IOException
 	{
 		String edge = "";
 		
-		ArrayList<Integer[]> adjs = new ArrayList<Integer[]>();
-		
 		String[] adjVerticesIdsStrings = null;
 		
-		Integer fromVertexId = -1;
-		Integer toVertexId = -1;
+		// Out-degrees are indexed by the ID of the graph file, or by order of 
+		// appearance if sparse IDs were specified.
+		int[] outDegrees = new int[16];
+		BitSet existentIds = new BitSet();
+		int numOfVertices = 0;
+		long numOfEdges = 0;
+		boolean weighted = false;
 		
-		Vertex fromVertex = null;
-		Vertex toVertex = null;
+		// A graph file whose IDs are all contiguous holds no ID above the 
+		// number of endpoints of its edges, so IDs beyond those read so far
+		// are counted by order of appearance until the file is validated, 
+		// rather than growing the out-degrees to any ID of a malformed file.
+		LongIntHashMap appearanceIdsOfDistantIds = new LongIntHashMap();
+		int[] distantIds = new int[0];
+		int[] distantOutDegrees = new int[0];
+		int numOfDistantIds = 0;
 		
-		vertexList = new ArrayList<Vertex>();
+		LongIntHashMap appearanceIdsOfFileIds = null;
+		long[] fileIdsByAppearance = null;
+		if (options.isSparseIds() == true)
+		{
+			appearanceIdsOfFileIds = new LongIntHashMap();
+			fileIdsByAppearance = new long[16];
+		}
 		
 		try (
-			BufferedReader graphFileReader = new BufferedReader(
-			new FileReader(graphFile));)
+			BufferedReader graphFileReader = graphSource.newReader();)
 		{	
 			while ((edge = graphFileReader.readLine()) != null)
 			{
-				adjVerticesIdsStrings = edge.split(" ");
+				adjVerticesIdsStrings = splitEdge(edge);
 				
-				if (adjVerticesIdsStrings.length != TWO_VERTICES)
+				int[] adjVerticesIds = new int[TWO_VERTICES];
+				for (int end = FROM_VERTEX; end <= TO_VERTEX; ++end)
 				{
-					throw new InvalidEdgeException();
+					int vertexId = -1;
+					if (appearanceIdsOfFileIds == null)
+					{
+						vertexId = Integer.parseInt(adjVerticesIdsStrings[end]);
+						if (vertexId < LOWEST_ID)
+						{
+							throw new InvalidEdgeException();
+						}
+						numOfVertices = Math.max(numOfVertices, vertexId + 1);
+						
+						long numOfEndpoints = (numOfEdges + 1) * TWO_VERTICES;
+						int distantId = appearanceIdsOfDistantIds.get(
+							vertexId, -1);
+						if ((distantId == -1) && (vertexId >= numOfEndpoints))
+						{
+							distantId = numOfDistantIds;
+							appearanceIdsOfDistantIds.put(vertexId, distantId);
+							if (numOfDistantIds == distantIds.length)
+							{
+								distantIds = Arrays.copyOf(distantIds, 
+									Math.max(16, numOfDistantIds << 1));
+								distantOutDegrees = Arrays.copyOf(
+									distantOutDegrees, distantIds.length);
+							}
+							distantIds[numOfDistantIds++] = vertexId;
+						}
+						if (distantId != -1)
+						{
+							if (end == FROM_VERTEX)
+							{
+								++distantOutDegrees[distantId];
+							}
+							
+							// The out-degree is already counted.
+							adjVerticesIds[end] = -1;
+							continue;
+						}
+						existentIds.set(vertexId);
+					}
+					else
+					{
+						long fileId = 
+							Long.parseLong(adjVerticesIdsStrings[end]);
+						vertexId = appearanceIdsOfFileIds.putIfAbsent(
+							fileId, numOfVertices);
+						if (vertexId == numOfVertices)
+						{
+							if (numOfVertices == fileIdsByAppearance.length)
+							{
+								fileIdsByAppearance = Arrays.copyOf(
+									fileIdsByAppearance, numOfVertices << 1);
+							}
+							fileIdsByAppearance[numOfVertices++] = fileId;
+						}
+					}
+					adjVerticesIds[end] = vertexId;
 				}
 				
-				fromVertexId = 
-					Integer.parseInt(adjVerticesIdsStrings[FROM_VERTEX]);
-				toVertexId = 
-					Integer.parseInt(adjVerticesIdsStrings[TO_VERTEX]);
-				
-				Integer[] adjVerticesIds = {fromVertexId, toVertexId};
-				
-				adjs.add(adjVerticesIds);
-				
-				fromVertex = new Vertex(fromVertexId, "white");
-				toVertex = new Vertex(toVertexId, "white");
-
-				if (vertexList.contains(fromVertex) == false)
-				{
-					vertexList.add(fromVertex);						
-				}
-				if (vertexList.contains(toVertex) == false)
+				int fromVertexId = adjVerticesIds[FROM_VERTEX];
+				if (fromVertexId != -1)
 				{
-					vertexList.add(toVertex);						
+					if (fromVertexId >= outDegrees.length)
+					{
+						outDegrees = Arrays.copyOf(outDegrees, 
+							Math.max(fromVertexId + 1, outDegrees.length << 1));
+					}
+					++outDegrees[fromVertexId];
 				}
+				++numOfEdges;
+				
+				parseWeight(adjVerticesIdsStrings);
+				weighted |= 
+					(adjVerticesIdsStrings.length == TWO_VERTICES_AND_WEIGHT);
 			}
 		}
 		catch (FileNotFoundException e)
@@ -260,65 +826,425 @@ final class Graph
 		{
 			throw new InvalidEdgeException();
 		}
+		
+		// Every ID between 0 and the highest ID must exist.
+		if ((numOfVertices == 0) 
+			|| ((appearanceIdsOfFileIds == null) 
+			&& (existentIds.cardinality() + numOfDistantIds 
+			!= numOfVertices)))
+		{
+			throw new InvalidEdgeException();
+		}
+		if (numOfEdges > Integer.MAX_VALUE)
+		{
+			throw new IOException(
+				"The graph file holds more edges than can be stored.");
+		}
+		
+		outDegrees = Arrays.copyOf(outDegrees, numOfVertices);
+		for (int distantId = 0; distantId < numOfDistantIds; ++distantId)
+		{
+			outDegrees[distantIds[distantId]] = distantOutDegrees[distantId];
+		}
+		
+		if (appearanceIdsOfFileIds != null)
+		{
+			// Renumber the IDs in ascending order of the IDs of the graph 
+			// file.
+			fileIds = Arrays.copyOf(fileIdsByAppearance, numOfVertices);
+			Arrays.sort(fileIds);
 			
-		Collections.sort(vertexList);
+			originalIdsOfFileIds = new LongIntHashMap(numOfVertices);
+			for (int originalId = 0; originalId < numOfVertices; ++originalId)
+			{
+				originalIdsOfFileIds.put(fileIds[originalId], originalId);
+			}
+			
+			int[] outDegreesByAppearance = outDegrees;
+			outDegrees = new int[numOfVertices];
+			for (
+				int appearanceId = 0; 
+				appearanceId < numOfVertices; 
+				++appearanceId)
+			{
+				outDegrees[originalIdsOfFileIds.get(
+					fileIdsByAppearance[appearanceId], -1)] =
+					outDegreesByAppearance[appearanceId];
+			}
+		}
+		
+		vertexList = new ArrayList<Vertex>(numOfVertices);
+		for (int originalId = 0; originalId < numOfVertices; ++originalId)
+		{
+			vertexList.add(new Vertex(originalId, "white"));
+		}
+		
+		adjOffsets = new int[numOfVertices + 1];
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			adjOffsets[vertexId + 1] = adjOffsets[vertexId] + outDegrees[vertexId];
+		}
+		adjTargets = new int[(int) numOfEdges];
+		if (weighted == true)
+		{
+			adjWeights = new double[(int) numOfEdges];
+		}
+	}
+	
+	/**
+	 * Reads the specified graph file a second time, placing each adjacency
+	 * directly into the adjacency arrays allocated by the first pass. Then 
+	 * sorts each list of adjacent vertices, removes repeated adjacencies, 
+	 * keeping the least weight of each.
+	 * 
+	 * @param graphSource - the source of the text file which represents the
+	 *     directed graph
+	 * 
+	 * @throws CannotReadGraphFileException - if the specified text file which 
+	 *     represents the directed graph could not be read
+	 * @throws InvalidEdgeException - if the format of at least one edge, 
+	 *     represented within the specified graph file, is invalid
+	 * @throws IOException - if an error related to an IO event disrupted this
+	 *     program's execution
+	 */
+	private void populateAdjs(GraphSource graphSource)
+		throws CannotReadGraphFileException, InvalidEdgeException, IOException
+	{
+		int numOfVertices = vertexList.size();
+		
+		String edge = "";
+		
+		String[] adjVerticesIdsStrings = null;
+		
+		int[] nextPositions = Arrays.copyOf(adjOffsets, numOfVertices);
+		
+		try (
+			BufferedReader graphFileReader = graphSource.newReader();)
+		{	
+			while ((edge = graphFileReader.readLine()) != null)
+			{
+				adjVerticesIdsStrings = splitEdge(edge);
+				
+				int fromVertexId = 
+					parseOriginalId(adjVerticesIdsStrings[FROM_VERTEX]);
+				int toVertexId = 
+					parseOriginalId(adjVerticesIdsStrings[TO_VERTEX]);
+				if ((fromVertexId < LOWEST_ID) || (toVertexId < LOWEST_ID)
+					|| (nextPositions[fromVertexId] 
+					== adjOffsets[fromVertexId + 1]))
+				{
+					throw new IOException(
+						"The graph file changed while it was being read.");
+				}
+				
+				int position = nextPositions[fromVertexId]++;
+				adjTargets[position] = toVertexId;
+				if (adjWeights != null)
+				{
+					adjWeights[position] = parseWeight(adjVerticesIdsStrings);
+				}
+			}
+		}
+		catch (FileNotFoundException e)
+		{
+			throw new CannotReadGraphFileException();
+		}
+		catch (NumberFormatException e)
+		{
+			throw new InvalidEdgeException();
+		}
+		
+		sortAndDeduplicateAdjs();
+	}
+	
+	/**
+	 * Sorts the adjacent vertices of each vertex, together with their 
+	 * weights, and removes repeated adjacencies, keeping the least weight of 
+	 * each. The remaining adjacencies are compacted toward the front of the 
+	 * adjacency arrays, which are shortened only if repetitions were removed.
+	 */
+	private void sortAndDeduplicateAdjs()
+	{
+		int numOfVertices = vertexList.size();
+		
+		int writePosition = 0;
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			int start = adjOffsets[vertexId];
+			int end = adjOffsets[vertexId + 1];
+			
+			if (adjWeights == null)
+			{
+				Arrays.sort(adjTargets, start, end);
+			}
+			else
+			{
+				// Sort the targets and weights together by packing each
+				// target with the position of its weight.
+				long[] packedAdjs = new long[end - start];
+				for (int n = 0; n < packedAdjs.length; ++n)
+				{
+					packedAdjs[n] = ((long) adjTargets[start + n] << 32) | n;
+				}
+				Arrays.sort(packedAdjs);
+				
+				double[] weights = Arrays.copyOfRange(adjWeights, start, end);
+				for (int n = 0; n < packedAdjs.length; ++n)
+				{
+					adjTargets[start + n] = (int) (packedAdjs[n] >>> 32);
+					adjWeights[start + n] = weights[(int) packedAdjs[n]];
+				}
+			}
+			
+			adjOffsets[vertexId] = writePosition;
+			for (int readPosition = start; readPosition < end; ++readPosition)
+			{
+				if ((writePosition > adjOffsets[vertexId])
+					&& (adjTargets[writePosition - 1] 
+					== adjTargets[readPosition]))
+				{
+					if (adjWeights != null)
+					{
+						adjWeights[writePosition - 1] = Math.min(
+							adjWeights[writePosition - 1], 
+							adjWeights[readPosition]);
+					}
+					continue;
+				}
+				
+				adjTargets[writePosition] = adjTargets[readPosition];
+				if (adjWeights != null)
+				{
+					adjWeights[writePosition] = adjWeights[readPosition];
+				}
+				++writePosition;
+			}
+		}
+		adjOffsets[numOfVertices] = writePosition;
+		numOfRepeatedAdjs = adjTargets.length - writePosition;
+		
+		if (writePosition < adjTargets.length)
+		{
+			adjTargets = Arrays.copyOf(adjTargets, writePosition);
+			if (adjWeights != null)
+			{
+				adjWeights = Arrays.copyOf(adjWeights, writePosition);
+			}
+		}
+	}
+	
+	/**
+	 * Splits the specified line of the graph file into its fields.
+	 * 
+	 * @param edge - the line of the graph file
+	 * 
+	 * @return adjVerticesIdsStrings - the IDs of the two vertices of the 
+	 *     adjacency, followed by its weight if one was specified
+	 *     
+	 * @throws InvalidEdgeException - if the line does not hold two or three
+	 *     fields
+	 */
+	private static String[] splitEdge(String edge)
+		throws InvalidEdgeException
+	{
+		String[] adjVerticesIdsStrings = edge.split(" ");
+		
+		if ((adjVerticesIdsStrings.length != TWO_VERTICES)
+			&& (adjVerticesIdsStrings.length != TWO_VERTICES_AND_WEIGHT))
+		{
+			throw new InvalidEdgeException();
+		}
+		
+		return adjVerticesIdsStrings;
+	}
+	
+	/**
+	 * Parses the weight of the specified adjacency. Adjacencies without 
+	 * weights have a weight of 1.
+	 * 
+	 * @param adjVerticesIdsStrings - the fields of the adjacency as read from
+	 *     the graph file
+	 *     
+	 * @return weight - the weight of the adjacency
+	 *     
+	 * @throws InvalidEdgeException - if the weight is negative or not a
+	 *     finite number
+	 * @throws NumberFormatException - if the weight is not a number
+	 */
+	private static double parseWeight(String[] adjVerticesIdsStrings)
+		throws InvalidEdgeException
+	{
+		if (adjVerticesIdsStrings.length != TWO_VERTICES_AND_WEIGHT)
+		{
+			return 1.0;
+		}
 		
-		final int highestId = vertexList.size() - 1;
-		if ((vertexList.get(LOWEST_ID).getID() < LOWEST_ID)
-			|| (vertexList.get(highestId).getID() > highestId))
+		double weight = Double.parseDouble(adjVerticesIdsStrings[WEIGHT]);
+		if ((weight < 0.0) || (Double.isInfinite(weight) == true) 
+			|| (Double.isNaN(weight) == true))
 		{
 			throw new InvalidEdgeException();
 		}
 		
-		return adjs;
+		return weight;
 	}
 	
 	/**
-	 * Populates the adjacency list and adjacency matrix according to the 
-	 * adjacencies existent in the graph.
+	 * Relabels the vertices according to the specified ordering so that 
+	 * vertices which are traversed together are stored near one another. The
+	 * vertex list and adjacency arrays are permuted accordingly, and the IDs
+	 * of the graph file are retained so that all output still uses them. 
+	 * Each list of adjacent vertices remains sorted by the IDs of the graph 
+	 * file, so searches discover vertices in the same order regardless of 
+	 * the ordering.
 	 * 
-	 * @param adjs - the adjacencies existent in the graph
+	 * @param vertexOrdering - the strategy by which the vertices are relabeled
 	 */
-	private void populateAdjListAndAdjMatrix(ArrayList<Integer[]> adjs)
+	private void relabelVertices(VertexOrdering vertexOrdering)
 	{
+		int[] newIds = vertexOrdering.computeNewIds(
+			new CsrAdjacency(adjOffsets, adjTargets));
+		if (newIds == null)
+		{
+			return;
+		}
+		
 		int numOfVertices = vertexList.size();
 		
-		adjList = new ArrayList<ArrayList<Integer>>(numOfVertices);		
-		for (
-			int verticesToAdd = numOfVertices; 
-			verticesToAdd > 0;
-			--verticesToAdd)
+		internalIds = newIds;
+		originalIds = new int[numOfVertices];
+		for (int originalId = 0; originalId < numOfVertices; ++originalId)
 		{
-			adjList.add(new ArrayList<Integer>());
+			originalIds[internalIds[originalId]] = originalId;
 		}
 		
-		adjMatrix = new boolean[numOfVertices][numOfVertices];
+		int[] relabeledAdjOffsets = new int[numOfVertices + 1];
+		int[] relabeledAdjTargets = new int[adjTargets.length];
+		double[] relabeledAdjWeights = null;
+		if (adjWeights != null)
+		{
+			relabeledAdjWeights = new double[adjWeights.length];
+		}
+		ArrayList<Vertex> relabeledVertexList = 
+			new ArrayList<Vertex>(numOfVertices);
 		
-		Integer fromVertexId = null;
-		Integer toVertexId = null;
-		ArrayList<Integer> fromVertexAdjs = null;
-		for (Integer[] adj : adjs)
+		int writePosition = 0;
+		for (int internalId = 0; internalId < numOfVertices; ++internalId)
 		{
-			fromVertexId = adj[FROM_VERTEX];
-			toVertexId = adj[TO_VERTEX];
+			int originalId = originalIds[internalId];
 			
-			fromVertexAdjs = adjList.get(fromVertexId);
-			if (fromVertexAdjs.contains(toVertexId) == false)
+			// Mapping the sorted adjacencies in place keeps them in order of
+			// the IDs of the graph file.
+			relabeledAdjOffsets[internalId] = writePosition;
+			for (
+				int readPosition = adjOffsets[originalId]; 
+				readPosition < adjOffsets[originalId + 1]; 
+				++readPosition)
 			{
-				fromVertexAdjs.add(toVertexId);
+				relabeledAdjTargets[writePosition] = 
+					internalIds[adjTargets[readPosition]];
+				if (adjWeights != null)
+				{
+					relabeledAdjWeights[writePosition] = 
+						adjWeights[readPosition];
+				}
+				++writePosition;
 			}
 			
-			adjMatrix[fromVertexId][toVertexId] = true;
+			relabeledVertexList.add(new Vertex(internalId, "white"));
 		}
+		relabeledAdjOffsets[numOfVertices] = writePosition;
 		
-		for (ArrayList<Integer> fromVertexAdjsOfAdjList : adjList)
+		adjOffsets = relabeledAdjOffsets;
+		adjTargets = relabeledAdjTargets;
+		adjWeights = relabeledAdjWeights;
+		vertexList = relabeledVertexList;
+	}
+	
+	/**
+	 * Returns the internal ID of the vertex whose original ID is the 
+	 * specified ID.
+	 * 
+	 * @param originalId - the ID of the vertex before relabeling
+	 * 
+	 * @return internalId - the ID by which the vertex is stored
+	 */
+	private int toInternalId(int originalId)
+	{
+		if (internalIds == null)
+		{
+			return originalId;
+		}
+		
+		return internalIds[originalId];
+	}
+	
+	/**
+	 * Returns the original ID of the vertex whose internal ID is the 
+	 * specified ID.
+	 * 
+	 * @param internalId - the ID by which the vertex is stored
+	 * 
+	 * @return originalId - the ID of the vertex before relabeling
+	 */
+	private int toOriginalId(int internalId)
+	{
+		if (originalIds == null)
 		{
-			Collections.sort(fromVertexAdjsOfAdjList);
+			return internalId;
 		}
+		
+		return originalIds[internalId];
 	}
 	
 	/**
-	 * Reads the specified source vertex and destination vertex from the user.
+	 * Returns the ID, as specified within the graph file, of the vertex whose
+	 * original ID is the specified ID.
+	 * 
+	 * @param originalId - the ID of the vertex before relabeling
+	 * 
+	 * @return fileId - the ID of the vertex as specified within the graph file
+	 */
+	private long toFileId(int originalId)
+	{
+		if (fileIds == null)
+		{
+			return originalId;
+		}
+		
+		return fileIds[originalId];
+	}
+	
+	/**
+	 * Parses the specified ID, as specified within the graph file, and returns
+	 * the original ID of the vertex which it identifies.
+	 * 
+	 * @param fileIdString - the ID of the vertex as specified within the graph
+	 *     file
+	 * 
+	 * @return originalId - the ID of the vertex before relabeling; -1 if no 
+	 *     vertex of the graph has the specified ID
+	 *     
+	 * @throws NumberFormatException - if the specified ID is not an integer
+	 */
+	private int parseOriginalId(String fileIdString)
+	{
+		if (originalIdsOfFileIds == null)
+		{
+			int originalId = Integer.parseInt(fileIdString);
+			if ((originalId < LOWEST_ID) || (originalId >= vertexList.size()))
+			{
+				return -1;
+			}
+			return originalId;
+		}
+		
+		return originalIdsOfFileIds.get(Long.parseLong(fileIdString), -1);
+	}
+	
+	/**
+	 * Reads the specified source vertex and destination vertex from the user,
+	 * unless they were specified on the command line.
 	 * 
 	 * @return sourceDest - the source vertex and destination vertex relevant
 	 *     to the depth-first search of the graph
@@ -329,35 +1255,63 @@ final class Graph
 	private int[] readSourceDest()
 		throws InvalidSourceDestException
 	{
+		if (options.getSourceDestLine() != null)
+		{
+			return parseSourceDest(options.getSourceDestLine());
+		}
+		
 		Scanner userInput = new Scanner(System.in);
-		System.out.print("Enter a source vertex and a destination vertex: ");
-		String[] maybeSourceDest = userInput.nextLine().split(" ");
+		
+		// Keep the prompt out of binary results.
+		PrintStream prompt = System.out;
+		if (options.getOutputFormat() == OutputFormat.BINARY)
+		{
+			prompt = System.err;
+		}
+		prompt.print("Enter a source vertex and a destination vertex: ");
+		String sourceDestLine = userInput.nextLine();
 		userInput.close();
 		
+		return parseSourceDest(sourceDestLine);
+	}
+	
+	/**
+	 * Parses the specified source vertex and destination vertex, which are 
+	 * separated by a space.
+	 * 
+	 * @param sourceDestLine - the IDs of the source vertex and destination
+	 *     vertex as specified within the graph file
+	 * 
+	 * @return sourceDest - the original IDs of the source vertex and 
+	 *     destination vertex
+	 *     
+	 * @throws InvalidSourceDestException - if either the specified source
+	 *     vertex or the specified destination vertex is invalid
+	 */
+	int[] parseSourceDest(String sourceDestLine)
+		throws InvalidSourceDestException
+	{
+		String[] maybeSourceDest = sourceDestLine.split(" ");
+		
 		if (maybeSourceDest.length != TWO_VERTICES)
 		{
 			throw new InvalidSourceDestException();
 		}
 		
-		Integer sourceVertexId = null;
-		Integer destVertexId = null;
+		int sourceVertexId = -1;
+		int destVertexId = -1;
 		
 		try
 		{
-			sourceVertexId = Integer.parseInt(maybeSourceDest[SOURCE_VERTEX]);
-			destVertexId = Integer.parseInt(maybeSourceDest[DEST_VERTEX]);
+			sourceVertexId = parseOriginalId(maybeSourceDest[SOURCE_VERTEX]);
+			destVertexId = parseOriginalId(maybeSourceDest[DEST_VERTEX]);
 		}
 		catch (NumberFormatException e)
 		{
 			throw new InvalidSourceDestException();
 		}
 		
-		final int highestId = vertexList.size() - 1;
-		if (
-			(sourceVertexId < LOWEST_ID) 
-			|| (sourceVertexId > highestId)
-			|| (destVertexId < LOWEST_ID) 
-			|| (destVertexId > highestId))
+		if ((sourceVertexId < LOWEST_ID) || (destVertexId < LOWEST_ID))
 		{
 			throw new InvalidSourceDestException();
 		}
@@ -366,6 +1320,38 @@ final class Graph
 		return sourceDest;
 	}
 	
+	/**
+	 * Parses the specified vertex.
+	 * 
+	 * @param vertexLine - the ID of the vertex as specified within the graph
+	 *     file
+	 * 
+	 * @return vertexId - the original ID of the vertex
+	 *     
+	 * @throws InvalidSourceDestException - if the specified vertex is invalid
+	 */
+	int parseVertex(String vertexLine)
+		throws InvalidSourceDestException
+	{
+		int vertexId = -1;
+		
+		try
+		{
+			vertexId = parseOriginalId(vertexLine);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new InvalidSourceDestException();
+		}
+		
+		if (vertexId < LOWEST_ID)
+		{
+			throw new InvalidSourceDestException();
+		}
+		
+		return vertexId;
+	}
+	
 	/**
 	 * Performs a depth-first search on the graph, beginning from the specified
 	 * source vertex. If the destination vertex is found, gathers two strings 
@@ -382,11 +1368,48 @@ final class Graph
 	 */
 	private String[] dfsSearch(int[] sourceDest)
 	{
-		Integer sourceVertexId = sourceDest[SOURCE_VERTEX];
-		Integer destVertexId = sourceDest[DEST_VERTEX];
+		int[][] orderOfDiscoveryAndSourceDestPathIds = dfsSearchIds(sourceDest);
+		if (orderOfDiscoveryAndSourceDestPathIds == null)
+		{
+			String[] orderOfDiscoveryAndSourceDestPath = {"", "Not Found"};
+			return orderOfDiscoveryAndSourceDestPath;
+		}
+		
+		String[] orderOfDiscoveryAndSourceDestPath = {
+			joinFileIds(
+				orderOfDiscoveryAndSourceDestPathIds[ORDER_OF_DISCOVERY], ", "),
+			joinFileIds(
+				orderOfDiscoveryAndSourceDestPathIds[SOURCE_DEST_PATH], " -> ")};
+		return orderOfDiscoveryAndSourceDestPath;
+	}
+	
+	/**
+	 * Performs a depth-first search on the graph, beginning from the specified
+	 * source vertex. If the destination vertex is found, gathers the order of 
+	 * discovery of the vertices traversed and the first discovered path from 
+	 * the source vertex to the detination vertex.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the depth-first search of the graph
+	 *     
+	 * @return orderOfDiscoveryAndSourceDestPathIds - An array of the internal
+	 *     IDs of the vertices in order of discovery and of the internal IDs 
+	 *     of the vertices along the first discovered path; null if the 
+	 *     destination vertex was not found
+	 */
+	private int[][] dfsSearchIds(int[] sourceDest)
+	{
+		// Clean up in preparation of the depth-first search.
+		for (Vertex vert : vertexList)
+		{
+			vert.setColor("white");
+		}
+		
+		Integer sourceVertexId = toInternalId(sourceDest[SOURCE_VERTEX]);
+		int destVertexId = toInternalId(sourceDest[DEST_VERTEX]);
 		
-		String sourceDestPath = "";
-		String orderOfDiscovery = sourceVertexId + ", ";
+		IntList orderOfDiscovery = new IntList();
+		orderOfDiscovery.add(sourceVertexId);
 		
 		LinkedList<Integer> discovered = new LinkedList<Integer>();
 		Integer discoveredVertexId = sourceVertexId;
@@ -403,25 +1426,27 @@ final class Graph
 		{
 			popExaminedVertex = true;
 			
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(examinedVertexId);
 			examineAdjs:
-			for (Integer adjVertexId : adjList.get(examinedVertexId))
+			while (adjs.hasNext() == true)
 			{
+				int adjVertexId = adjs.nextInt();
 				adjVertex = vertexList.get(adjVertexId);
 				
 				examineColorOfAdj:
 				switch (adjVertex.getColor())
 				{
 					case "white":
-						orderOfDiscovery += adjVertexId + ", ";
+						orderOfDiscovery.add(adjVertexId);
 						
 						if (adjVertexId == destVertexId)
 						{
-							String[] sourceDestPathAndOrderOfDiscovery =
+							int[][] orderOfDiscoveryAndSourceDestPathIds =
 								assembleOrderOfDiscoveryAndSourceDestPath(
 								orderOfDiscovery, 
 								discovered, 
 								destVertexId);
-							return sourceDestPathAndOrderOfDiscovery;
+							return orderOfDiscoveryAndSourceDestPathIds;
 						}
 						
 						adjVertex.setColor("black");
@@ -441,65 +1466,417 @@ final class Graph
 			}
 		}
 		
-		String[] orderOfDiscoveryAndSourceDestPath = {"", "Not Found"};
-		return  orderOfDiscoveryAndSourceDestPath;
+		return null;
+	}
+	
+	/**
+	 * Performs the same depth-first search as dfsSearch, but answers it from
+	 * the cached complete search from the source vertex, if there is one, 
+	 * and otherwise caches the complete search for later queries.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the depth-first search of the graph
+	 *     
+	 * @return orderOfDiscoveryAndSourceDestPath - An array of two strings 
+	 *     representing the order of discovery of the vertices traversed and 
+	 *     the first discovered path from the source vertex to the detination 
+	 *     vertex
+	 */
+	private String[] cachedDfsSearch(int[] sourceDest)
+	{
+		if (traversalCache == null)
+		{
+			return dfsSearch(sourceDest);
+		}
+		
+		int destVertexId = toInternalId(sourceDest[DEST_VERTEX]);
+		
+		DfsTraversal traversal = 
+			cachedTraversal(toInternalId(sourceDest[SOURCE_VERTEX]));
+		if (traversal == null)
+		{
+			return dfsSearch(sourceDest);
+		}
+		
+		if (traversal.reaches(destVertexId) == false)
+		{
+			String[] orderOfDiscoveryAndSourceDestPath = {"", "Not Found"};
+			return orderOfDiscoveryAndSourceDestPath;
+		}
+		
+		String[] orderOfDiscoveryAndSourceDestPath = {
+			joinFileIds(traversal.orderOfDiscoveryTo(destVertexId), ", "),
+			joinFileIds(traversal.pathTo(destVertexId), " -> ")};
+		return orderOfDiscoveryAndSourceDestPath;
+	}
+	
+	/**
+	 * Returns the complete depth-first search from the specified source 
+	 * vertex, searching and caching it if it is not cached. The search is 
+	 * abandoned as soon as it could not fit within the cache, so that a 
+	 * query is never answered by a complete search which is then discarded.
+	 * 
+	 * @param sourceVertexId - the internal ID of the source vertex
+	 * 
+	 * @return traversal - the complete depth-first search from the source
+	 *     vertex; null if it could not be cached
+	 */
+	private DfsTraversal cachedTraversal(int sourceVertexId)
+	{
+		DfsTraversal traversal = traversalCache.get(sourceVertexId);
+		if (traversal == null)
+		{
+			traversal = DfsTraversal.search(
+				adjacency, sourceVertexId, traversalCache.getCapacityInBytes());
+			if (traversal != null)
+			{
+				traversalCache.put(traversal);
+			}
+		}
+		
+		return traversal;
+	}
+	
+	/**
+	 * Assembles and returns the order of discovery of the vertices traversed
+	 * and the first discovered path from the source vertex to the detination
+	 * vertex.
+	 * 
+	 * @param orderOfDiscovery - the order of discovery of the vertices 
+	 *     traversed during the source to destination traversal
+	 * @param discovered - the discovered vertices in order of most recently
+	 *     discovered to least recently discovered
+	 * @param destVertexId - the ID of the destination vertex
+	 * 
+	 * @return orderOfDiscoveryAndSourceDestPathIds - An array of the internal
+	 *     IDs of the vertices in order of discovery and of the internal IDs 
+	 *     of the vertices along the first discovered path
+	 */
+	private int[][] assembleOrderOfDiscoveryAndSourceDestPath(
+		IntList orderOfDiscovery, LinkedList<Integer> discovered, 
+		int destVertexId)
+	{
+		int[] sourceDestPath = new int[discovered.size() + 1];
+		int position = discovered.size();
+		sourceDestPath[position] = destVertexId;
+		while (discovered.peek() != null)
+		{
+			sourceDestPath[--position] = discovered.pop();
+		}
+		
+		int[][] orderOfDiscoveryAndSourceDestPathIds = 
+			{orderOfDiscovery.toArray(), sourceDestPath};
+		
+		return orderOfDiscoveryAndSourceDestPathIds;
+	}
+	
+	/**
+	 * Joins the IDs, as specified within the graph file, of the specified 
+	 * vertices with the specified separator.
+	 * 
+	 * @param vertexIds - the internal IDs of the vertices
+	 * @param separator - the string placed between consecutive IDs
+	 * 
+	 * @return joinedIds - the IDs of the graph file, separated
+	 */
+	private String joinFileIds(int[] vertexIds, String separator)
+	{
+		StringBuilder joinedIds = new StringBuilder();
+		for (int vertexId : vertexIds)
+		{
+			if (joinedIds.length() > 0)
+			{
+				joinedIds.append(separator);
+			}
+			joinedIds.append(toFileId(toOriginalId(vertexId)));
+		}
+		
+		return joinedIds.toString();
+	}
+	
+	/**
+	 * Converts the specified internal IDs to the IDs specified within the 
+	 * graph file.
+	 * 
+	 * @param vertexIds - the internal IDs of the vertices
+	 * 
+	 * @return fileIds - the IDs of the graph file, in the same order
+	 */
+	private long[] toFileIds(int[] vertexIds)
+	{
+		long[] vertexFileIds = new long[vertexIds.length];
+		for (int n = 0; n < vertexIds.length; ++n)
+		{
+			vertexFileIds[n] = toFileId(toOriginalId(vertexIds[n]));
+		}
+		
+		return vertexFileIds;
+	}
+	
+	/**
+	 * Performs a parallel breadth-first search of the graph from the 
+	 * specified source vertex until the destination vertex is reached, and
+	 * returns the string describing the path of fewest edges between them.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return fewestHopsPath - the path of fewest edges from the source 
+	 *     vertex to the destination vertex followed by its number of edges; 
+	 *     "Not Found" if the destination vertex is not reachable
+	 */
+	private String bfsSearch(int[] sourceDest)
+	{
+		int sourceVertexId = toInternalId(sourceDest[SOURCE_VERTEX]);
+		int destVertexId = toInternalId(sourceDest[DEST_VERTEX]);
+		
+		ParallelBfs bfs = new ParallelBfs(adjacency);
+		bfs.search(sourceVertexId, destVertexId);
+		
+		int[] path = bfs.getPath(destVertexId);
+		if (path == null)
+		{
+			return "Not Found";
+		}
+		
+		return 
+			joinFileIds(path, " -> ") + 
+			" (Hops: " + (path.length - 1) + ")";
+	}
+	
+	/**
+	 * Performs a depth-first search of the graph from the specified source 
+	 * vertex for the specified destination vertex which gives up once it 
+	 * exceeds the search budget of the options, and returns the string 
+	 * describing its outcome.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return budgetedPath - the path found from the source vertex to the 
+	 *     destination vertex, "Not Found", or "Not Found Within Budget", 
+	 *     followed by the number of vertices visited
+	 */
+	private String budgetedSearch(int[] sourceDest)
+	{
+		int sourceVertexId = toInternalId(sourceDest[SOURCE_VERTEX]);
+		int destVertexId = toInternalId(sourceDest[DEST_VERTEX]);
+		
+		BudgetedSearch search = new BudgetedSearch(
+			adjacency,
+			options.getMaxSearchDepth(),
+			options.getMaxSearchVisited(),
+			options.getSearchDeadlineNanos());
+		BudgetedSearch.Outcome outcome = search.search(
+			sourceVertexId, destVertexId, options.isIterativeDeepening());
+		
+		String budgetedPath = null;
+		switch (outcome)
+		{
+			case FOUND:
+				budgetedPath = joinFileIds(search.getPath(), " -> ");
+				break;
+			case NOT_FOUND:
+				budgetedPath = "Not Found";
+				break;
+			case BUDGET_EXHAUSTED:
+				budgetedPath = "Not Found Within Budget";
+				break;
+		}
+		
+		return budgetedPath + " (Visited: " + search.getNumOfVisited() + ")";
+	}
+	
+	/**
+	 * Determines the shortest weighted path from the specified source vertex
+	 * to the specified destination vertex and returns the string describing 
+	 * it.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return shortestPath - the shortest path from the source vertex to the
+	 *     destination vertex followed by its distance; "Not Found" if the 
+	 *     destination vertex is not reachable
+	 */
+	private String shortestPathSearch(int[] sourceDest)
+	{
+		int sourceVertexId = toInternalId(sourceDest[SOURCE_VERTEX]);
+		int destVertexId = toInternalId(sourceDest[DEST_VERTEX]);
+		
+		ShortestPathAlgorithm algorithm = options.getShortestPathAlgorithm();
+		if (algorithm == ShortestPathAlgorithm.AUTO)
+		{
+			algorithm = profile().recommendShortestPathAlgorithm();
+		}
+		
+		ShortestPathEngine engine = 
+			new ShortestPathEngine(adjacency, adjWeights);
+		engine.search(algorithm, sourceVertexId, destVertexId);
+		
+		int[] path = engine.getPath(destVertexId);
+		if (path == null)
+		{
+			return "Not Found";
+		}
+		
+		return 
+			joinFileIds(path, " -> ") + 
+			" (Distance: " + engine.getDistance(destVertexId) + ")";
+	}
+	
+	/**
+	 * Returns the profile of the graph, which is determined when it is first
+	 * needed.
+	 * 
+	 * @return profile - the shape of the graph
+	 */
+	private GraphProfile profile()
+	{
+		if (profile == null)
+		{
+			profile = new GraphProfile(adjacency, numOfRepeatedAdjs);
+		}
+		
+		return profile;
+	}
+	
+	/**
+	 * Determines the transitive closure of the graph and returns the string 
+	 * describing the transitive closure edges.
+	 * 
+	 * @return transitiveClosureEdges - the transitive closure edges of the 
+	 *     graph (does not include the original edges of the graph)
+	 */
+	private String transitiveClosure()
+		throws IOException
+	{
+		String transitiveClosureEdges = 
+			assembleTransitiveClosureEdges(transitiveClosureMatrix());
+		return transitiveClosureEdges;
+	}
+	
+	/**
+	 * Determines the transitive closure of the graph by the strategy of the
+	 * options or, if none was specified, by the cheaper strategy for the 
+	 * profile of the graph. If a checkpoint file was specified, Warshall's
+	 * algorithm is always used and resumes from the checkpoint. The matrix 
+	 * is indexed by original ID, so that it is filled and read in the order 
+	 * of the output regardless of the ordering of the vertices.
+	 * 
+	 * @return transitiveClosureMatrix - the rows of the closure, in which 
+	 *     each element represents the existence of transitive closure from 
+	 *     one vertex to another
+	 * 
+	 * @throws IOException - if the checkpoint file could not be used
+	 */
+	private ClosureMatrix transitiveClosureMatrix()
+		throws IOException
+	{
+		if (options.getClosureCheckpointPath() != null)
+		{
+			CheckpointedClosure closure = new CheckpointedClosure(
+				originalAdjacency(), 
+				new File(options.getClosureCheckpointPath()),
+				options.getClosureCheckpointIntervalNanos());
+			closure.compute();
+			return closure;
+		}
+		
+		ClosureStrategy closureStrategy = options.getClosureStrategy();
+		if (closureStrategy == ClosureStrategy.AUTO)
+		{
+			closureStrategy = profile().recommendClosureStrategy();
+		}
+		
+		if (closureStrategy == ClosureStrategy.TRAVERSAL)
+		{
+			return new DenseClosureMatrix(
+				traversalClosureMatrix(originalAdjacency()));
+		}
+		return new DenseClosureMatrix(
+			warshallClosureMatrix(originalAdjacency()));
+	}
+	
+	/**
+	 * Returns the adjacencies of the graph under the original IDs of the
+	 * vertices. Each list of adjacent vertices is sorted by original ID.
+	 * 
+	 * @return originalAdjacency - the vertices which exist in the graph with
+	 *     respect to their adjacent vertices, by original ID
+	 */
+	private Adjacency originalAdjacency()
+	{
+		if (internalIds == null)
+		{
+			return adjacency;
+		}
+		
+		return new PermutedAdjacency(adjacency, internalIds, originalIds);
 	}
 	
 	/**
-	 * Assembles and returns the two strings representing the order of 
-	 * discovery of the vertices traversed and the first discovered path from 
-	 * the source vertex to the detination vertex.
+	 * Determines the transitive closure of the graph by a breadth-first 
+	 * search from every vertex. A vertex reaches itself only through a 
+	 * cycle, as with Warshall's algorithm.
 	 * 
-	 * @param orderOfDiscovery - the order of discovery of the vertices 
-	 *     traversed during the source to destination traversal
-	 * @param discovered - the discovered vertices in order of most recently
-	 *     discovered to least recently discovered
-	 * @param destVertexId - the ID of the destination vertex
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
 	 * 
-	 * @return orderOfDiscoveryAndSourceDestPath - An array of two strings 
-	 *     representing the order of discovery of the vertices traversed and 
-	 *     the first discovered path from the source vertex to the detination 
-	 *     vertex
+	 * @return transitiveClosureMatrix - a two-dimensional array in which each
+	 *     element represents the existence of transitive closure from one 
+	 *     vertex to another
 	 */
-	private String[] assembleOrderOfDiscoveryAndSourceDestPath(
-		String orderOfDiscovery, LinkedList<Integer> discovered, 
-		int destVertexId)
+	private boolean[][] traversalClosureMatrix(Adjacency adjacency)
 	{
-		LinkedList<Integer> reversedDiscovered = 
-			new LinkedList<Integer>();
-			while (discovered.peek() != null)
+		int numOfVertices = vertexList.size();
+		
+		boolean[][] transitiveClosureMatrix = 
+			new boolean[numOfVertices][numOfVertices];
+		
+		int[] queue = new int[numOfVertices];
+		for (int vertexFrom = 0; vertexFrom < numOfVertices; ++vertexFrom)
+		{
+			boolean[] reached = transitiveClosureMatrix[vertexFrom];
+			int tail = 0;
+			
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(vertexFrom);
+			while (adjs.hasNext() == true)
 			{
-				reversedDiscovered.addFirst(discovered.pop());
+				int adjVertexId = adjs.nextInt();
+				reached[adjVertexId] = true;
+				queue[tail++] = adjVertexId;
 			}
-				
-			String sourceDestPath = 
-				reversedDiscovered.toString();
-			sourceDestPath = 
-				sourceDestPath.substring(
-				1, sourceDestPath.length() - 1);
-			sourceDestPath = 
-				sourceDestPath.replace(",", " ->");
-			sourceDestPath += 
-				" -> " + destVertexId;
-			
-			orderOfDiscovery = 
-				orderOfDiscovery.substring(
-				0, orderOfDiscovery.length() - 2);
-			
-			String[] orderOfDiscoveryAndSourceDestPath = 
-				{orderOfDiscovery, sourceDestPath};
 			
-			return orderOfDiscoveryAndSourceDestPath;
+			for (int head = 0; head < tail; ++head)
+			{
+				adjs = adjacency.neighbors(queue[head]);
+				while (adjs.hasNext() == true)
+				{
+					int adjVertexId = adjs.nextInt();
+					if (reached[adjVertexId] == false)
+					{
+						reached[adjVertexId] = true;
+						queue[tail++] = adjVertexId;
+					}
+				}
+			}
+		}
+		
+		return transitiveClosureMatrix;
 	}
 	
 	/**
-	 * Determines the transitive closure of the graph and returns the string 
-	 * describing the transitive closure edges.
+	 * Determines the transitive closure of the graph by Warshall's algorithm.
 	 * 
-	 * @return transitiveClosureEdges - the transitive closure edges of the 
-	 *     graph (does not include the original edges of the graph)
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * 
+	 * @return transitiveClosureMatrix - a two-dimensional array in which each
+	 *     element represents the existence of transitive closure from one 
+	 *     vertex to another
 	 */
-	private String transitiveClosure()
+	private boolean[][] warshallClosureMatrix(Adjacency adjacency)
 	{
 		int numOfVertices = vertexList.size();
 
@@ -508,9 +1885,10 @@ final class Graph
 		
 		for (int g = 0; g < numOfVertices; ++g)
 		{
-			for (int a = 0; a < numOfVertices; ++a)
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(g);
+			while (adjs.hasNext() == true)
 			{
-				transitiveClosureMatrix[g][a] = adjMatrix[g][a];
+				transitiveClosureMatrix[g][adjs.nextInt()] = true;
 			}
 		}
 		
@@ -532,50 +1910,142 @@ final class Graph
 			}
 		}
 		
-		String transitiveClosureEdges = 
-			assembleTransitiveClosureEdges(transitiveClosureMatrix);
-		return transitiveClosureEdges;
+		return transitiveClosureMatrix;
 	}
 	
 	/**
 	 * Assembles and returns the string describing the transitive closure 
 	 * edges.
 	 * 
-	 * @param transitiveClosureMatrix - a two-dimensional array in which each 
-	 *     element represents the existence of transitive closure from one 
-	 *     vertex to another.
+	 * @param transitiveClosureMatrix - the rows of the closure, in which 
+	 *     each element represents the existence of transitive closure from 
+	 *     one vertex to another.
 	 *     
 	 * @return transitiveClosureEdges - the transitive closure edges of the 
 	 *     graph (does not include the original edges of the graph
 	 */
 	private String assembleTransitiveClosureEdges(
-		boolean[][] transitiveClosureMatrix)
+		ClosureMatrix transitiveClosureMatrix)
 	{
 		int numOfVertices = vertexList.size();
+		Adjacency originalAdjacency = originalAdjacency();
+		boolean[] rowBuffer = new boolean[numOfVertices];
 		
-		String transitiveClosureEdges = "";
+		StringBuilder transitiveClosureEdges = new StringBuilder();
 		String indentation = "                ";
 		for (int n = 0; n < numOfVertices; ++n)
 		{
+			boolean[] reached = transitiveClosureMatrix.row(n, rowBuffer);
+			PrimitiveIterator.OfInt adjs = originalAdjacency.neighbors(n);
+			int nextAdj = nextAdj(adjs);
 			for (int m = 0; m < numOfVertices; ++m)
 			{				
-				if ((transitiveClosureMatrix[n][m] == true)
-					&& (adjMatrix[n][m] == false))
+				if (m == nextAdj)
+				{
+					nextAdj = nextAdj(adjs);
+					continue;
+				}
+				
+				if (reached[m] == true)
 				{
-					if (transitiveClosureEdges != "")
+					if (transitiveClosureEdges.length() > 0)
 					{
-						transitiveClosureEdges += indentation;
+						transitiveClosureEdges.append("\n" + indentation);
 					}
-					transitiveClosureEdges += 	
-						n + " " + m + "\n";
+					transitiveClosureEdges.append(toFileId(n));
+					transitiveClosureEdges.append(' ');
+					transitiveClosureEdges.append(toFileId(m));
 				}
 			}
 		}
-		transitiveClosureEdges = 
-			transitiveClosureEdges.substring(
-			0, transitiveClosureEdges.length() - 1);
 		
-		return transitiveClosureEdges;
+		return transitiveClosureEdges.toString();
+	}
+	
+	/**
+	 * Writes the transitive closure edges, in the same order as they are 
+	 * assembled, as a single record of the specified binary writer.
+	 * 
+	 * @param transitiveClosureMatrix - the rows of the closure, in which 
+	 *     each element represents the existence of transitive closure from 
+	 *     one vertex to another.
+	 * @param statsWriter - the writer of the binary results
+	 *     
+	 * @throws IOException - if the edges could not be written
+	 */
+	private void writeTransitiveClosureEdges(
+		ClosureMatrix transitiveClosureMatrix, BinaryStatsWriter statsWriter)
+		throws IOException
+	{
+		int numOfVertices = vertexList.size();
+		Adjacency originalAdjacency = originalAdjacency();
+		boolean[] rowBuffer = new boolean[numOfVertices];
+		
+		// Every adjacency is within the closure, so the closure edges which 
+		// are not adjacencies are counted by subtracting the adjacencies.
+		long numOfEdges = 0;
+		for (int n = 0; n < numOfVertices; ++n)
+		{
+			boolean[] reached = transitiveClosureMatrix.row(n, rowBuffer);
+			for (int m = 0; m < numOfVertices; ++m)
+			{
+				if (reached[m] == true)
+				{
+					++numOfEdges;
+				}
+			}
+			
+			PrimitiveIterator.OfInt adjs = originalAdjacency.neighbors(n);
+			while (adjs.hasNext() == true)
+			{
+				if (reached[adjs.nextInt()] == true)
+				{
+					--numOfEdges;
+				}
+			}
+		}
+		
+		statsWriter.beginEdges(BinaryStatsWriter.CLOSURE_RECORD, numOfEdges);
+		for (int n = 0; n < numOfVertices; ++n)
+		{
+			boolean[] reached = transitiveClosureMatrix.row(n, rowBuffer);
+			PrimitiveIterator.OfInt adjs = originalAdjacency.neighbors(n);
+			int nextAdj = nextAdj(adjs);
+			for (int m = 0; m < numOfVertices; ++m)
+			{
+				if (m == nextAdj)
+				{
+					nextAdj = nextAdj(adjs);
+					continue;
+				}
+				
+				if (reached[m] == true)
+				{
+					statsWriter.writeEdge(toFileId(n), toFileId(m));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the next vertex of the specified adjacencies. The adjacencies 
+	 * of every vertex are sorted by original ID, so the adjacencies of a 
+	 * vertex are matched against its row of the closure in a single pass 
+	 * rather than through an adjacency matrix.
+	 * 
+	 * @param adjs - the remaining adjacencies of a vertex, by original ID
+	 * 
+	 * @return originalId - the original ID of the next adjacent vertex; -1 
+	 *     if no adjacency remains
+	 */
+	private static int nextAdj(PrimitiveIterator.OfInt adjs)
+	{
+		if (adjs.hasNext() == false)
+		{
+			return -1;
+		}
+		
+		return adjs.nextInt();
 	}
 	
 	/**
@@ -595,7 +2065,7 @@ final class Graph
 		boolean cycleExists = false;
 		
 		LinkedList<Integer> discovered = new LinkedList<Integer>();
-		discovered.push(LOWEST_ID);
+		discovered.push(toInternalId(LOWEST_ID));
 		
 		Integer examinedVertexId = null;
 		Vertex adjVertex = null;
@@ -605,9 +2075,11 @@ final class Graph
 			examinedVertexId = discovered.peek();
 			popExaminedVertex = true;
 						
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(examinedVertexId);
 			examineAdjs:
-			for (Integer adjVertexId : adjList.get(examinedVertexId))
+			while (adjs.hasNext() == true)
 			{
+				int adjVertexId = adjs.nextInt();
 				adjVertex = vertexList.get(adjVertexId);
 								
 				examineColorOfAdj:
@@ -638,6 +2110,130 @@ final class Graph
 		return cycleExists;
 	}
 	
+	/**
+	 * Decomposes the graph into its strongly connected components, in 
+	 * parallel, and returns the string describing them. Unlike the cycle 
+	 * search, which only examines the vertices reachable from the lowest ID,
+	 * every vertex is examined. A component is cyclic if it holds more than 
+	 * one vertex or its vertex is adjacent to itself.
+	 * 
+	 * @return components - the number of strongly connected components of 
+	 *     the graph, of cyclic components, and of vertices of the largest
+	 */
+	private String componentSearch()
+	{
+		StronglyConnectedComponents decomposition = 
+			new StronglyConnectedComponents(adjacency, reverseAdjacency);
+		int[] componentIds = decomposition.computeComponentIds();
+		int numOfComponents = decomposition.getNumOfComponents();
+		
+		int[] componentSizes = new int[numOfComponents];
+		boolean[] cyclic = new boolean[numOfComponents];
+		for (int vertexId = 0; vertexId < componentIds.length; ++vertexId)
+		{
+			int componentId = componentIds[vertexId];
+			if (++componentSizes[componentId] > 1)
+			{
+				cyclic[componentId] = true;
+			}
+			
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(vertexId);
+			while (adjs.hasNext() == true)
+			{
+				if (adjs.nextInt() == vertexId)
+				{
+					cyclic[componentId] = true;
+				}
+			}
+		}
+		
+		int numOfCyclicComponents = 0;
+		int largestComponentSize = 0;
+		for (int componentId = 0; componentId < numOfComponents; ++componentId)
+		{
+			if (cyclic[componentId] == true)
+			{
+				++numOfCyclicComponents;
+			}
+			largestComponentSize = 
+				Math.max(largestComponentSize, componentSizes[componentId]);
+		}
+		
+		return 
+			numOfComponents + " Components, " + 
+			numOfCyclicComponents + " Cyclic (Largest: " + 
+			largestComponentSize + ")";
+	}
+	
+	/**
+	 * Determines the dominators of the destination vertex, which every path
+	 * from the source vertex to it passes through, and returns the string 
+	 * describing them. The dominators other than the source vertex and the 
+	 * destination vertex are the cut vertices, whose removal separates the 
+	 * destination vertex from the source vertex.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 *     
+	 * @return dominatorPath - the dominators from the source vertex to the 
+	 *     destination vertex followed by the number of cut vertices; 
+	 *     "Not Found" if the destination vertex is not reachable
+	 */
+	private String dominatorSearch(int[] sourceDest)
+	{
+		DominatorTree tree = 
+			dominatorTree(toInternalId(sourceDest[SOURCE_VERTEX]));
+		
+		int[] dominators = 
+			tree.dominatorsOf(toInternalId(sourceDest[DEST_VERTEX]));
+		if (dominators == null)
+		{
+			return "Not Found";
+		}
+		
+		return 
+			joinFileIds(dominators, " -> ") + 
+			" (Cut Vertices: " + Math.max(0, dominators.length - 2) + ")";
+	}
+	
+	/**
+	 * Returns the dominator tree rooted at the specified source vertex, 
+	 * building it unless it was built by the previous query. The in-edges 
+	 * of every vertex are gathered by the first tree unless they were 
+	 * gathered as the graph was read.
+	 * 
+	 * @param sourceVertexId - the internal ID of the source vertex
+	 * 
+	 * @return dominatorTree - the dominator tree rooted at the source vertex
+	 */
+	private DominatorTree dominatorTree(int sourceVertexId)
+	{
+		if ((dominatorTree != null)
+			&& (dominatorTree.getSourceVertexId() == sourceVertexId))
+		{
+			return dominatorTree;
+		}
+		
+		if (reverseAdjacency == null)
+		{
+			indexInEdges();
+		}
+		
+		DfsTraversal traversal = null;
+		if (traversalCache != null)
+		{
+			traversal = cachedTraversal(sourceVertexId);
+		}
+		if (traversal == null)
+		{
+			traversal = 
+				DfsTraversal.search(adjacency, sourceVertexId, Long.MAX_VALUE);
+		}
+		dominatorTree = new DominatorTree(reverseAdjacency, traversal);
+		
+		return dominatorTree;
+	}
+	
 	/**
 	 * Reads a specified text file which represents a directed graph, performs 
 	 * a depth-first search from the specified source vertex to the specified 
@@ -658,17 +2254,174 @@ final class Graph
 	 *     (does not include the original edges of the graph)
 	 * @param cycleExists - true if a cycle exists in the graph; false 
 	 *     otherwise
+	 * @param components - the number of strongly connected components of the
+	 *     graph, of cyclic components, and of vertices of the largest; null 
+	 *     if they were not determined
+	 * @param dominatorPath - the dominators of the destination vertex, from 
+	 *     the source vertex; null if they were not determined
+	 * @param fewestHopsPath - the path of fewest edges from the source vertex
+	 *     to the destination vertex; null if it was not determined
+	 * @param budgetedPath - the outcome of the budgeted depth-first search 
+	 *     from the source vertex to the destination vertex; null if it was 
+	 *     not performed
+	 * @param shortestPath - the shortest weighted path from the source vertex
+	 *     to the destination vertex; null if it was not determined
+	 * @param profileStats - the labeled profile of the graph; null if it was
+	 *     not reported
 	 */
 	private void printGraphStats(
 		int[] sourceDest,
 		String sourceDestPath, 
 		String orderOfDiscovery, 
 		String transitiveClosureEdges,
-		boolean cycleExists)
+		boolean cycleExists,
+		String components,
+		String dominatorPath,
+		String fewestHopsPath,
+		String budgetedPath,
+		String shortestPath,
+		String profileStats)
+	{
+		output.println(
+			formatDfsStats(sourceDest, sourceDestPath, orderOfDiscovery));
+		output.println(
+			formatTransitiveClosureStats(transitiveClosureEdges));
+		output.println(
+			formatCycleStats(cycleExists));
+		if (components != null)
+		{
+			output.println(
+				formatComponentStats(components));
+		}
+		if (dominatorPath != null)
+		{
+			output.println(
+				formatDominatorStats(sourceDest, dominatorPath));
+		}
+		if (fewestHopsPath != null)
+		{
+			output.println(
+				formatFewestHopsStats(sourceDest, fewestHopsPath));
+		}
+		if (budgetedPath != null)
+		{
+			output.println(
+				formatBudgetedStats(sourceDest, budgetedPath));
+		}
+		if (shortestPath != null)
+		{
+			output.println(
+				formatShortestPathStats(sourceDest, shortestPath));
+		}
+		if (profileStats != null)
+		{
+			output.println(profileStats);
+		}
+	}
+	
+	/**
+	 * Writes the order of discovery of the vertices traversed by the 
+	 * depth-first search, the first discovered path from the source vertex 
+	 * to the destination vertex, the transitive closure edges and whether 
+	 * the graph is cyclic to the output stream as binary records.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the depth-first search of the graph
+	 *     
+	 * @throws IOException - if the records could not be written
+	 */
+	private void writeGraphStats(int[] sourceDest)
+		throws IOException
+	{
+		int[][] orderOfDiscoveryAndSourceDestPathIds = dfsSearchIds(sourceDest);
+		long[] orderOfDiscovery = new long[0];
+		long[] sourceDestPath = new long[0];
+		if (orderOfDiscoveryAndSourceDestPathIds != null)
+		{
+			orderOfDiscovery = toFileIds(
+				orderOfDiscoveryAndSourceDestPathIds[ORDER_OF_DISCOVERY]);
+			sourceDestPath = toFileIds(
+				orderOfDiscoveryAndSourceDestPathIds[SOURCE_DEST_PATH]);
+		}
+		
+		ClosureMatrix transitiveClosureMatrix = transitiveClosureMatrix();
+		
+		boolean cycleExists = cycleSearch();
+		
+		// The output stream is not closed, so neither is its channel.
+		BinaryStatsWriter statsWriter = new BinaryStatsWriter(
+			Channels.newChannel(output), options.isSparseIds());
+		statsWriter.writeHeader();
+		statsWriter.writeIds(
+			BinaryStatsWriter.DISCOVERY_RECORD, orderOfDiscovery);
+		statsWriter.writeIds(BinaryStatsWriter.PATH_RECORD, sourceDestPath);
+		writeTransitiveClosureEdges(transitiveClosureMatrix, statsWriter);
+		statsWriter.writeFlag(BinaryStatsWriter.CYCLE_RECORD, cycleExists);
+		statsWriter.flush();
+		output.flush();
+	}
+	
+	/**
+	 * Formats the order of discovery of the vertices, if the destination 
+	 * vertex was found, and the first discovered path from the source vertex
+	 * to the destination vertex.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the depth-first search of the graph
+	 * @param sourceDestPath - the first discovered path from the source vertex
+	 *     to the detination vertex
+	 * @param orderOfDiscovery - the order of discovery of the vertices 
+	 *     traversed during the source to destination traversal
+	 *     
+	 * @return dfsStats - one line for each statistic of the depth-first 
+	 *     search
+	 */
+	private String formatDfsStats(
+		int[] sourceDest,
+		String sourceDestPath, 
+		String orderOfDiscovery)
 	{
-		int source = sourceDest[SOURCE_VERTEX];
-		int dest = sourceDest[DEST_VERTEX];
+		long source = toFileId(sourceDest[SOURCE_VERTEX]);
+		long dest = toFileId(sourceDest[DEST_VERTEX]);
+		
+		String dfsStats = "";
+		if (sourceDestPath.equals("Not Found") == false)
+		{
+			dfsStats += 
+				"[DFS Discovered Vertices: " + 
+				source + ", " + dest + "] " + orderOfDiscovery + "\n";
+		}
+		dfsStats += 
+			"[DFS Path: " + 
+			source + ", " + dest + "] " + sourceDestPath;
 		
+		return dfsStats;
+	}
+	
+	/**
+	 * Formats the transitive closure edges of the graph.
+	 * 
+	 * @param transitiveClosureEdges - the transitive closure edges of the 
+	 *     graph (does not include the original edges of the graph)
+	 *     
+	 * @return transitiveClosureStats - the labeled transitive closure edges
+	 */
+	private static String formatTransitiveClosureStats(
+		String transitiveClosureEdges)
+	{
+		return "[TC: New Edges] " + transitiveClosureEdges;
+	}
+	
+	/**
+	 * Formats whether or not the graph is cyclic.
+	 * 
+	 * @param cycleExists - true if a cycle exists in the graph; false 
+	 *     otherwise
+	 *     
+	 * @return cycleStats - the labeled determination
+	 */
+	private static String formatCycleStats(boolean cycleExists)
+	{
 		String cycleExistsString = null;
 		if (cycleExists == true)
 		{
@@ -679,19 +2432,103 @@ final class Graph
 			cycleExistsString = "Cycle Does Not Exist";
 		}
 		
-		if (sourceDestPath.equals("Not Found") == false)
-		{
-			System.out.println(
-				"[DFS Discovered Vertices: " + 
-				source + ", " + dest + "] " + orderOfDiscovery);
-		}
-		System.out.println(
-			"[DFS Path: " + 
-			source + ", " + dest + "] " + sourceDestPath);
-		System.out.println(
-			"[TC: New Edges] " + 
-			transitiveClosureEdges);
-		System.out.println(
-			"[Cycle]: " + cycleExistsString);
+		return "[Cycle]: " + cycleExistsString;
+	}
+	
+	/**
+	 * Formats the strongly connected components of the graph.
+	 * 
+	 * @param components - the number of strongly connected components of the
+	 *     graph, of cyclic components, and of vertices of the largest
+	 *     
+	 * @return componentStats - the labeled components
+	 */
+	private static String formatComponentStats(String components)
+	{
+		return "[SCC]: " + components;
+	}
+	
+	/**
+	 * Formats the dominators of the destination vertex.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 * @param dominatorPath - the dominators from the source vertex to the 
+	 *     destination vertex
+	 *     
+	 * @return dominatorStats - the labeled dominators
+	 */
+	private String formatDominatorStats(int[] sourceDest, String dominatorPath)
+	{
+		long source = toFileId(sourceDest[SOURCE_VERTEX]);
+		long dest = toFileId(sourceDest[DEST_VERTEX]);
+		
+		return 
+			"[Dominators: " + 
+			source + ", " + dest + "] " + dominatorPath;
+	}
+	
+	/**
+	 * Formats the path of fewest edges from the source vertex to the 
+	 * destination vertex.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 * @param fewestHopsPath - the path of fewest edges from the source vertex
+	 *     to the destination vertex
+	 *     
+	 * @return fewestHopsStats - the labeled path
+	 */
+	private String formatFewestHopsStats(
+		int[] sourceDest, String fewestHopsPath)
+	{
+		long source = toFileId(sourceDest[SOURCE_VERTEX]);
+		long dest = toFileId(sourceDest[DEST_VERTEX]);
+		
+		return 
+			"[BFS Path: " + 
+			source + ", " + dest + "] " + fewestHopsPath;
+	}
+	
+	/**
+	 * Formats the outcome of the budgeted depth-first search from the source
+	 * vertex to the destination vertex.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 * @param budgetedPath - the outcome of the budgeted depth-first search
+	 *     
+	 * @return budgetedStats - the labeled outcome
+	 */
+	private String formatBudgetedStats(int[] sourceDest, String budgetedPath)
+	{
+		long source = toFileId(sourceDest[SOURCE_VERTEX]);
+		long dest = toFileId(sourceDest[DEST_VERTEX]);
+		
+		return 
+			"[Budgeted DFS Path: " + 
+			source + ", " + dest + "] " + budgetedPath;
+	}
+	
+	/**
+	 * Formats the shortest weighted path from the source vertex to the 
+	 * destination vertex.
+	 * 
+	 * @param sourceDest - the source vertex and destination vertex relevant
+	 *     to the search of the graph
+	 * @param shortestPath - the shortest weighted path from the source vertex
+	 *     to the destination vertex
+	 *     
+	 * @return shortestPathStats - the labeled shortest path
+	 */
+	private String formatShortestPathStats(
+		int[] sourceDest, String shortestPath)
+	{
+		long source = toFileId(sourceDest[SOURCE_VERTEX]);
+		long dest = toFileId(sourceDest[DEST_VERTEX]);
+		
+		return 
+			"[Shortest Path: " + 
+			source + ", " + dest + "] " + shortestPath;
 	}
 }
@@ -0,0 +1,373 @@
+package perform;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import exceptions.CannotReadGraphFileException;
+import exceptions.InvalidEdgeException;
+import exceptions.InvalidSourceDestException;
+
+/**
+ * Processes many graph files within a single run of this program, so that
+ * the start-up of the virtual machine and the compilation of the searches
+ * are paid once rather than once per graph file.
+ * 
+ * <p>The graph files are those within a directory, or those listed one per
+ * line within a text file, where blank lines and lines beginning with # are
+ * ignored and relative paths are resolved against the directory of the
+ * list. Each graph file is read and processed by a Graph of its own on a
+ * work-stealing pool, and its results are written to a file of its own
+ * within the output directory, named after the graph file. A graph file
+ * which cannot be processed, whether it is invalid or it fails by a runtime
+ * error, by overflowing the stack or by exhausting memory, is reported to
+ * the console, its partial results are deleted, and the remaining graph
+ * files are processed anyway.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class GraphBatch
+{
+	/**
+	 * The extension of the file of the results of a graph file as text.
+	 */
+	private static final String TEXT_EXTENSION = ".out";
+	
+	/**
+	 * The extension of the file of the results of a graph file as binary
+	 * records.
+	 */
+	private static final String BINARY_EXTENSION = ".bin";
+	
+	/**
+	 * The prefix of a line of a list of graph files which is ignored.
+	 */
+	private static final String COMMENT_PREFIX = "#";
+	
+	/**
+	 * The number of bytes buffered before the results of a graph file are
+	 * written.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	/**
+	 * The optional behaviors with which every graph is read and processed.
+	 */
+	private final GraphOptions options;
+	
+	/**
+	 * The directory to which the results of every graph file are written.
+	 */
+	private final File outputDir;
+	
+	/**
+	 * The number of graph files processed at once.
+	 */
+	private final int parallelism;
+	
+	/**
+	 * Initializes a batch which writes its results to the specified
+	 * directory.
+	 * 
+	 * @param options - the optional behaviors with which every graph is read
+	 *     and processed
+	 * @param outputDir - the directory to which the results of every graph
+	 *     file are written
+	 * @param parallelism - the number of graph files processed at once
+	 */
+	GraphBatch(GraphOptions options, File outputDir, int parallelism)
+	{
+		this.options = options;
+		this.outputDir = outputDir;
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Returns the graph files within the specified directory, in order of
+	 * name, or those listed within the specified text file, in order of
+	 * listing.
+	 * 
+	 * @param batchFile - a directory of graph files or a text file which
+	 *     lists graph files
+	 * 
+	 * @return graphFiles - the graph files of the batch
+	 * 
+	 * @throws IOException - if the directory or the list could not be read
+	 */
+	static List<File> listGraphFiles(File batchFile)
+		throws IOException
+	{
+		List<File> graphFiles = new ArrayList<File>();
+		
+		if (batchFile.isDirectory() == true)
+		{
+			File[] dirFiles = batchFile.listFiles();
+			if (dirFiles == null)
+			{
+				throw new IOException(
+					"The batch directory " + batchFile + " could not be read.");
+			}
+			Arrays.sort(dirFiles);
+			for (File dirFile : dirFiles)
+			{
+				if ((dirFile.isFile() == true)
+					&& (dirFile.isHidden() == false))
+				{
+					graphFiles.add(dirFile);
+				}
+			}
+			return graphFiles;
+		}
+		
+		try (
+			BufferedReader listReader = new BufferedReader(
+			new InputStreamReader(
+			new FileInputStream(batchFile), StandardCharsets.UTF_8));)
+		{
+			String line = null;
+			while ((line = listReader.readLine()) != null)
+			{
+				line = line.trim();
+				if ((line.isEmpty() == true)
+					|| (line.startsWith(COMMENT_PREFIX) == true))
+				{
+					continue;
+				}
+				
+				File graphFile = new File(line);
+				if (graphFile.isAbsolute() == false)
+				{
+					graphFile = new File(batchFile.getParentFile(), line);
+				}
+				graphFiles.add(graphFile);
+			}
+		}
+		
+		return graphFiles;
+	}
+	
+	/**
+	 * Processes the specified graph files on a work-stealing pool, and then
+	 * reports every graph file which could not be processed, in the order
+	 * of the batch, followed by the number of graph files processed.
+	 * 
+	 * @param graphFiles - the graph files of the batch
+	 * 
+	 * @return exitCode - 0 if every graph file was processed; otherwise the
+	 *     exit code of the first graph file which could not be
+	 * 
+	 * @throws IOException - if the output directory could not be created
+	 */
+	int process(List<File> graphFiles)
+		throws IOException
+	{
+		if ((outputDir.isDirectory() == false)
+			&& (outputDir.mkdirs() == false))
+		{
+			throw new IOException(
+				"The batch output directory " + outputDir +
+				" could not be created.");
+		}
+		
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		List<ForkJoinTask<GraphFailure>> tasks =
+			new ArrayList<ForkJoinTask<GraphFailure>>(graphFiles.size());
+		Set<String> outputNames = new HashSet<String>();
+		try
+		{
+			for (final File graphFile : graphFiles)
+			{
+				String outputName = graphFile.getName() + extension();
+				if (outputNames.add(outputName) == false)
+				{
+					tasks.add(pool.submit(() -> new GraphFailure(
+						GraphDriver.IO_EXCEPTION,
+						"Another graph file of the batch is named " +
+						graphFile.getName() + ".")));
+					continue;
+				}
+				
+				final File outputFile = new File(outputDir, outputName);
+				tasks.add(pool.submit(
+					() -> processGraph(graphFile, outputFile)));
+			}
+			
+			int exitCode = 0;
+			int numOfProcessedGraphs = 0;
+			for (int taskIndex = 0; taskIndex < tasks.size(); ++taskIndex)
+			{
+				GraphFailure failure = tasks.get(taskIndex).join();
+				if (failure == null)
+				{
+					++numOfProcessedGraphs;
+					continue;
+				}
+				
+				System.err.println(
+					graphFiles.get(taskIndex) + ": " + failure.message);
+				if (exitCode == 0)
+				{
+					exitCode = failure.exitCode;
+				}
+			}
+			
+			System.out.println(
+				"[Batch]: " + numOfProcessedGraphs + " of " +
+				graphFiles.size() + " graph files processed");
+			
+			return exitCode;
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Reads and processes the specified graph file by a Graph of its own,
+	 * writing its results to the specified file, which is deleted if the
+	 * graph file could not be processed.
+	 * 
+	 * @param graphFile - the graph file
+	 * @param outputFile - the file to which the results are written
+	 * 
+	 * @return failure - the reason the graph file could not be processed;
+	 *     null if it was processed
+	 */
+	private GraphFailure processGraph(File graphFile, File outputFile)
+	{
+		GraphFailure failure = null;
+		try (
+			PrintStream output = new PrintStream(
+			new BufferedOutputStream(
+			new FileOutputStream(outputFile), BUFFER_SIZE),
+			false,
+			StandardCharsets.UTF_8.name());)
+		{
+			Graph graph = new Graph(options, output);
+			graph.startGraph(graphFile.getPath());
+			
+			// A print stream keeps its errors rather than throwing them.
+			if (output.checkError() == true)
+			{
+				throw new IOException(
+					"The results could not be written to " + outputFile + ".");
+			}
+		}
+		catch (CannotReadGraphFileException e)
+		{
+			failure = new GraphFailure(
+				GraphDriver.CANNOT_READ_GRAPH_FILE, e.getMessage());
+		}
+		catch (InvalidEdgeException e)
+		{
+			failure = new GraphFailure(
+				GraphDriver.INVALID_EDGE, e.getMessage());
+		}
+		catch (InvalidSourceDestException e)
+		{
+			failure = new GraphFailure(
+				GraphDriver.INVALID_SOURCE_DEST, e.getMessage());
+		}
+		catch (IOException e)
+		{
+			failure = new GraphFailure(
+				GraphDriver.IO_EXCEPTION, e.getMessage());
+		}
+		catch (RuntimeException e)
+		{
+			failure = new GraphFailure(
+				GraphDriver.UNEXPECTED_ERROR, e.toString());
+		}
+		catch (StackOverflowError e)
+		{
+			// A recursive search of a deep graph has unwound, so the stack 
+			// of this worker is free for the remaining graph files.
+			failure = new GraphFailure(
+				GraphDriver.UNEXPECTED_ERROR, e.toString());
+		}
+		catch (OutOfMemoryError e)
+		{
+			// The graph is unreachable once its task has unwound, so the 
+			// memory is recovered for the remaining graph files.
+			failure = new GraphFailure(
+				GraphDriver.OUT_OF_MEMORY, e.toString());
+		}
+		
+		if (failure != null)
+		{
+			outputFile.delete();
+		}
+		
+		return failure;
+	}
+	
+	/**
+	 * Returns the extension of the file of the results of every graph file.
+	 * 
+	 * @return extension - the extension which matches the output format
+	 */
+	private String extension()
+	{
+		if (options.getOutputFormat() == OutputFormat.BINARY)
+		{
+			return BINARY_EXTENSION;
+		}
+		return TEXT_EXTENSION;
+	}
+	
+	/**
+	 * The reason a graph file of the batch could not be processed.
+	 */
+	private static final class GraphFailure
+	{
+		/**
+		 * The exit code of this program which reports the failure.
+		 */
+		private final int exitCode;
+		
+		/**
+		 * The first line of the message of the error.
+		 */
+		private final String message;
+		
+		/**
+		 * Initializes the failure of the specified error.
+		 * 
+		 * @param exitCode - the exit code of this program which reports the 
+		 *     failure
+		 * @param message - the message of the error, of which only the first
+		 *     line is kept
+		 */
+		GraphFailure(int exitCode, String message)
+		{
+			this.exitCode = exitCode;
+			
+			// The remaining lines repeat the usage of this program.
+			if (message == null)
+			{
+				message = "";
+			}
+			int endOfLine = message.indexOf('\n');
+			if (endOfLine >= 0)
+			{
+				message = message.substring(0, endOfLine);
+			}
+			this.message = message;
+		}
+	}
+}
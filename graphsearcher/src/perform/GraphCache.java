@@ -0,0 +1,210 @@
+package perform;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import exceptions.CannotReadGraphFileException;
+import exceptions.InvalidEdgeException;
+
+/**
+ * Holds the most recently used graphs in memory so that repeated queries of 
+ * a graph file do not read it again. Graphs are keyed by the canonical path 
+ * of their graph file and are read again once the file has been modified. 
+ * Once the cache is full, the least recently used graph is discarded.
+ * 
+ * <p>A graph is cached as soon as it begins to be read, as the pending 
+ * result of its read, so that concurrent queries of a graph file which is 
+ * not cached wait for a single read rather than each reading the file. A 
+ * read which fails is removed, so that the next query reads the file 
+ * again.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class GraphCache
+{
+	/**
+	 * The optional behaviors with which every graph is read.
+	 */
+	private final GraphOptions options;
+	
+	/**
+	 * The cached graphs by the canonical path of their graph file, in order 
+	 * of least recent use.
+	 */
+	private final LinkedHashMap<String, CachedGraph> graphs;
+	
+	/**
+	 * Initializes an empty cache which holds at most the specified number of
+	 * graphs.
+	 * 
+	 * @param options - the optional behaviors with which every graph is read
+	 * @param capacity - the greatest number of graphs held at once
+	 */
+	GraphCache(GraphOptions options, final int capacity)
+	{
+		this.options = options;
+		
+		graphs = new LinkedHashMap<String, CachedGraph>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(
+				Map.Entry<String, CachedGraph> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+	}
+	
+	/**
+	 * Returns the graph which the specified graph file represents, reading 
+	 * the graph file if it is not cached or has been modified since it was
+	 * cached, or waiting for the read if another query is already reading 
+	 * it. Other graphs remain available while a graph file is read.
+	 * 
+	 * @param graphFilePath - the path of the text file which represents the 
+	 *     directed graph
+	 *     
+	 * @return graph - the graph which the graph file represents
+	 * 
+	 * @throws CannotReadGraphFileException - if the specified text file which 
+	 *     represents the directed graph could not be read
+	 * @throws InvalidEdgeException - if the format of at least one edge, 
+	 *     represented within the specified graph file, is invalid
+	 * @throws IOException - if an error related to an IO event disrupted this
+	 *     program's execution
+	 */
+	Graph get(String graphFilePath)
+		throws CannotReadGraphFileException, InvalidEdgeException, IOException
+	{
+		File graphFile = new File(graphFilePath);
+		String canonicalPath = graphFile.getCanonicalPath();
+		
+		// The modification time is observed before reading, so a graph file
+		// modified while it is read is read again by the next query.
+		long lastModified = graphFile.lastModified();
+		
+		CachedGraph cachedGraph = null;
+		boolean readsGraph = false;
+		synchronized (graphs)
+		{
+			cachedGraph = graphs.get(canonicalPath);
+			if ((cachedGraph == null) 
+				|| (cachedGraph.lastModified != lastModified))
+			{
+				FutureTask<Graph> read = new FutureTask<Graph>(() ->
+				{
+					Graph graph = new Graph(options);
+					graph.readInputGraph(canonicalPath);
+					return graph;
+				});
+				cachedGraph = new CachedGraph(read, lastModified);
+				graphs.put(canonicalPath, cachedGraph);
+				readsGraph = true;
+			}
+		}
+		
+		// The graph file is read by the query which cached the read, outside
+		// the lock, and every other query of it waits for the result.
+		if (readsGraph == true)
+		{
+			cachedGraph.read.run();
+		}
+		
+		try
+		{
+			return cachedGraph.read.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(
+				"Interrupted while " + canonicalPath + " was read.");
+		}
+		catch (ExecutionException e)
+		{
+			synchronized (graphs)
+			{
+				graphs.remove(canonicalPath, cachedGraph);
+			}
+			
+			throw rethrow(e.getCause());
+		}
+	}
+	
+	/**
+	 * Throws the specified cause of a failed read of a graph file as itself.
+	 * 
+	 * @param cause - the error which the read threw
+	 * 
+	 * @return never returns; declared so that callers may throw the result
+	 * 
+	 * @throws CannotReadGraphFileException - if the cause is one
+	 * @throws InvalidEdgeException - if the cause is one
+	 * @throws IOException - if the cause is one
+	 */
+	private static RuntimeException rethrow(Throwable cause)
+		throws CannotReadGraphFileException, InvalidEdgeException, IOException
+	{
+		if (cause instanceof CannotReadGraphFileException)
+		{
+			throw (CannotReadGraphFileException) cause;
+		}
+		if (cause instanceof InvalidEdgeException)
+		{
+			throw (InvalidEdgeException) cause;
+		}
+		if (cause instanceof IOException)
+		{
+			throw (IOException) cause;
+		}
+		if (cause instanceof Error)
+		{
+			throw (Error) cause;
+		}
+		if (cause instanceof RuntimeException)
+		{
+			throw (RuntimeException) cause;
+		}
+		
+		throw new IllegalStateException(cause);
+	}
+	
+	/**
+	 * Models the read of a graph together with the modification time of the 
+	 * graph file from which it is read.
+	 */
+	private static final class CachedGraph
+	{
+		/**
+		 * The read of the graph which the graph file represents, which is 
+		 * pending until the graph file has been read.
+		 */
+		private final FutureTask<Graph> read;
+		
+		/**
+		 * The modification time of the graph file when it was read.
+		 */
+		private final long lastModified;
+		
+		/**
+		 * Initializes the cached graph.
+		 * 
+		 * @param read - the read of the graph which the graph file represents
+		 * @param lastModified - the modification time of the graph file when
+		 *     it was read
+		 */
+		CachedGraph(FutureTask<Graph> read, long lastModified)
+		{
+			this.read = read;
+			this.lastModified = lastModified;
+		}
+	}
+}
@@ -1,8 +1,10 @@
 package perform;
 
+import java.io.File;
 import java.io.IOException;
 
 import exceptions.CannotReadGraphFileException;
+import exceptions.InvalidCmdLineOptionException;
 import exceptions.InvalidEdgeException;
 import exceptions.InvalidNumOfCmdLineArgsException;
 import exceptions.InvalidSourceDestException;
@@ -30,7 +32,36 @@ public final class GraphDriver
 	 * Indicates the command line parameters for this program.
 	 */
 	public static final String USAGE_MESSAGE = 
-		"Usage: java perform/GraphDriver <graph_file_path>";
+		"Usage: java perform/GraphDriver <graph_file_path> [options]" +
+		"\n       java perform/GraphDriver - --source-dest=<s>,<d> [options]" +
+		"\n       java perform/GraphDriver --serve=<port> [options]" +
+		"\n       java perform/GraphDriver --batch=<dir|list> [options]" +
+		"\nGraph files may be gzip-compressed; - streams one from stdin." +
+		"\nOptions:" +
+		"\n  --source-dest=<s>,<d>          search without prompting" +
+		"\n  --reorder=none|bfs|rcm|degree  relabel vertices after reading" +
+		"\n  --sparse-ids                   accept any long integer vertex IDs" +
+		"\n  --shortest-path[=auto|dijkstra|delta]" +
+		"\n                                 find the shortest weighted path" +
+		"\n  --compress-adjacency           gap-encode the adjacency lists" +
+		"\n  --reverse-index                index the in-edges of every vertex" +
+		"\n  --closure=auto|matrix|traversal" +
+		"\n                                 choose how the closure is found" +
+		"\n  --closure-checkpoint=<path>    resume the matrix closure from a file" +
+		"\n  --checkpoint-interval=<s>      seconds between closure checkpoints" +
+		"\n  --stats                        profile the shape of the graph" +
+		"\n  --scc                          count strongly connected components" +
+		"\n  --dominators                   find the vertices every path crosses" +
+		"\n  --bfs                          find the path of fewest edges" +
+		"\n  --max-depth=<n>                bound the depth of a budgeted DFS" +
+		"\n  --max-visited=<n>              bound the visits of a budgeted DFS" +
+		"\n  --deadline-ms=<n>              bound the time of a budgeted DFS" +
+		"\n  --iterative-deepening          deepen a budgeted DFS gradually" +
+		"\n  --graph-cache=<n>              graphs kept in memory by --serve" +
+		"\n  --traversal-cache=<mib>        searches cached per graph by --serve" +
+		"\n  --batch-output=<dir>           write the results of --batch to <dir>" +
+		"\n  --batch-threads=<n>            graphs processed at once by --batch" +
+		"\n  --output=text|binary           encode the results of a graph file";
 	
 	// Possible numbers of command line arguments
 	/**
@@ -38,6 +69,184 @@ public final class GraphDriver
 	 */
 	private static final int ONE_ARG = 1;
 	
+	// Command line options
+	/**
+	 * The prefix of the command line option which specifies the strategy by
+	 * which the vertices are relabeled after the graph has been read.
+	 */
+	private static final String REORDER_OPTION = "--reorder=";
+	
+	/**
+	 * The prefix of the command line option which specifies the source vertex
+	 * and destination vertex, separated by a comma, so that the user is not 
+	 * prompted for them.
+	 */
+	private static final String SOURCE_DEST_OPTION = "--source-dest=";
+	
+	/**
+	 * The command line option which specifies that the IDs of the graph file
+	 * may be any long integers.
+	 */
+	private static final String SPARSE_IDS_OPTION = "--sparse-ids";
+	
+	/**
+	 * The command line option which specifies that the shortest weighted path
+	 * from the source vertex to the destination vertex is determined, 
+	 * optionally followed by the algorithm to determine it with.
+	 */
+	private static final String SHORTEST_PATH_OPTION = "--shortest-path";
+	
+	/**
+	 * The command line option which specifies that the lists of adjacent 
+	 * vertices are stored compressed.
+	 */
+	private static final String COMPRESS_ADJACENCY_OPTION = 
+		"--compress-adjacency";
+	
+	/**
+	 * The command line option which specifies that the in-edges of every 
+	 * vertex are gathered as the graph is read.
+	 */
+	private static final String REVERSE_INDEX_OPTION = "--reverse-index";
+	
+	/**
+	 * The prefix of the command line option which specifies the strategy by
+	 * which the transitive closure is determined.
+	 */
+	private static final String CLOSURE_OPTION = "--closure=";
+	
+	/**
+	 * The prefix of the command line option which specifies the file to which
+	 * the progress of the matrix closure is persisted and from which it is 
+	 * resumed.
+	 */
+	private static final String CLOSURE_CHECKPOINT_OPTION = 
+		"--closure-checkpoint=";
+	
+	/**
+	 * The prefix of the command line option which specifies the number of 
+	 * seconds between checkpoints of the closure.
+	 */
+	private static final String CHECKPOINT_INTERVAL_OPTION = 
+		"--checkpoint-interval=";
+	
+	/**
+	 * The number of nanoseconds in a second.
+	 */
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	
+	/**
+	 * The command line option which specifies that the profile of the graph
+	 * is reported.
+	 */
+	private static final String STATS_OPTION = "--stats";
+	
+	/**
+	 * The command line option which specifies that the strongly connected 
+	 * components of the graph are determined.
+	 */
+	private static final String SCC_OPTION = "--scc";
+	
+	/**
+	 * The command line option which specifies that the dominators of the 
+	 * destination vertex, which every path from the source vertex to it 
+	 * passes through, are determined.
+	 */
+	private static final String DOMINATORS_OPTION = "--dominators";
+	
+	/**
+	 * The command line option which specifies that the path of fewest edges 
+	 * from the source vertex to the destination vertex is determined by a 
+	 * parallel breadth-first search.
+	 */
+	private static final String BFS_OPTION = "--bfs";
+	
+	/**
+	 * The prefix of the command line option which specifies the greatest 
+	 * depth of the budgeted depth-first search.
+	 */
+	private static final String MAX_DEPTH_OPTION = "--max-depth=";
+	
+	/**
+	 * The prefix of the command line option which specifies the greatest 
+	 * number of vertices visited by the budgeted depth-first search.
+	 */
+	private static final String MAX_VISITED_OPTION = "--max-visited=";
+	
+	/**
+	 * The prefix of the command line option which specifies the number of 
+	 * milliseconds allotted to the budgeted depth-first search.
+	 */
+	private static final String DEADLINE_OPTION = "--deadline-ms=";
+	
+	/**
+	 * The command line option which specifies that the budgeted depth-first 
+	 * search deepens iteratively.
+	 */
+	private static final String ITERATIVE_DEEPENING_OPTION = 
+		"--iterative-deepening";
+	
+	/**
+	 * The number of nanoseconds in a millisecond.
+	 */
+	private static final long NANOS_PER_MILLI = 1000000L;
+	
+	/**
+	 * The prefix of the command line option, specified in place of the graph
+	 * file path, which specifies the local port on which graph queries are 
+	 * served.
+	 */
+	private static final String SERVE_OPTION = "--serve=";
+	
+	/**
+	 * The prefix of the command line option which specifies that the graph 
+	 * files of a directory, or of a text file which lists them, are 
+	 * processed as a batch.
+	 */
+	private static final String BATCH_OPTION = "--batch=";
+	
+	/**
+	 * The prefix of the command line option which specifies the directory to
+	 * which the results of a batch are written.
+	 */
+	private static final String BATCH_OUTPUT_OPTION = "--batch-output=";
+	
+	/**
+	 * The prefix of the command line option which specifies the number of 
+	 * graph files of a batch which are processed at once.
+	 */
+	private static final String BATCH_THREADS_OPTION = "--batch-threads=";
+	
+	/**
+	 * The prefix of the command line option which specifies the greatest 
+	 * number of graphs held in memory by the server.
+	 */
+	private static final String GRAPH_CACHE_OPTION = "--graph-cache=";
+	
+	/**
+	 * The prefix of the command line option which specifies the greatest 
+	 * number of mebibytes of depth-first searches cached for each graph by 
+	 * the server.
+	 */
+	private static final String TRAVERSAL_CACHE_OPTION = "--traversal-cache=";
+	
+	/**
+	 * The prefix of the command line option which specifies the encoding in
+	 * which the results of a single graph file are written.
+	 */
+	private static final String OUTPUT_OPTION = "--output=";
+	
+	/**
+	 * The number of bits by which a number of mebibytes is shifted to give a
+	 * number of bytes.
+	 */
+	private static final int MEBIBYTE_SHIFT = 20;
+	
+	/**
+	 * The highest port number.
+	 */
+	private static final int HIGHEST_PORT = 65535;
+	
 	// Indices of command line arguments
 	/**
 	 * The index of the command line argument which specifies the path of the 
@@ -52,6 +261,11 @@ public final class GraphDriver
 	 */
 	private static final int INVALID_NUM_OF_CMD_LINE_ARGS = 1;
 	
+	/**
+	 * Exit code indicating that an invalid command line option was specified.
+	 */
+	private static final int INVALID_CMD_LINE_OPTION = 5;
+	
 	/**
 	 * Exit code indicating that the specified text file, which represents the 
 	 * directed graph, cannot be read.
@@ -77,6 +291,19 @@ public final class GraphDriver
 	 */
 	static final int IO_EXCEPTION = 6;
 	
+	/**
+	 * Exit code indicating that a graph file of a batch could not be 
+	 * processed because of an unexpected runtime error or an overflow of the 
+	 * stack.
+	 */
+	static final int UNEXPECTED_ERROR = 7;
+	
+	/**
+	 * Exit code indicating that a graph file of a batch could not be 
+	 * processed within the available memory.
+	 */
+	static final int OUT_OF_MEMORY = 8;
+	
 	// Methods
 	/**
 	 * Reads a specified text file which represents a directed graph, performs 
@@ -91,21 +318,46 @@ public final class GraphDriver
 	 * <p>Wrapper method for startGraph which is responsible for performing 
 	 * the purpose of this program.
 	 * 
-	 * @param args - <graph_file_path>
+	 * <p>If a server port is specified in place of the graph file path, 
+	 * instead answers queries of any number of graph files over a local 
+	 * socket until this program is terminated. If a batch is specified in 
+	 * place of the graph file path, instead processes every graph file of 
+	 * the batch, each to a results file of its own.
+	 * 
+	 * @param args - <graph_file_path> [options], --serve=<port> [options] or
+	 *     --batch=<dir|list> [options]
 	 */
 	public static void main(String[] args)
 	{
+		GraphOptions options = null;
 		try
 		{
-			examineCmdLineArgs(args);
+			options = examineCmdLineArgs(args);
 		}
 		catch (InvalidNumOfCmdLineArgsException e)
 		{
 			System.err.println(e.getMessage());
 			System.exit(INVALID_NUM_OF_CMD_LINE_ARGS);
 		}
+		catch (InvalidCmdLineOptionException e)
+		{
+			System.err.println(e.getMessage());
+			System.exit(INVALID_CMD_LINE_OPTION);
+		}
+		
+		if (options.getServerPort() != GraphOptions.NO_SERVER_PORT)
+		{
+			serve(options);
+			return;
+		}
 		
-		Graph graph = new Graph();
+		if (options.getBatchPath() != null)
+		{
+			batch(options);
+			return;
+		}
+		
+		Graph graph = new Graph(options);
 		
 		String graphFilePath = args[INDEX_OF_GRAPH_FILE_PATH_ARG];
 		
@@ -136,19 +388,361 @@ public final class GraphDriver
 	}
 	
 	/**
-	 * Examines the specified command line arguments for validity.
+	 * Answers queries of graph files over a local socket until this program
+	 * is terminated. Shortest paths may always be queried; the shortest path
+	 * option only selects the algorithm.
+	 * 
+	 * @param options - the optional behaviors specified on the command line
+	 */
+	private static void serve(GraphOptions options)
+	{
+		if (options.getShortestPathAlgorithm() == ShortestPathAlgorithm.NONE)
+		{
+			options.setShortestPathAlgorithm(ShortestPathAlgorithm.AUTO);
+		}
+		
+		GraphServer server = new GraphServer(
+			options.getServerPort(), 
+			new GraphCache(options, options.getGraphCacheCapacity()));
+		
+		try
+		{
+			server.serve();
+		}
+		catch (IOException e)
+		{
+			System.err.println(e.getMessage());
+			System.exit(IO_EXCEPTION);
+		}
+	}
+	
+	/**
+	 * Processes every graph file of a batch, reporting those which could not
+	 * be processed, and exits with the exit code of the first of them.
+	 * 
+	 * @param options - the optional behaviors specified on the command line
+	 */
+	private static void batch(GraphOptions options)
+	{
+		GraphBatch batch = new GraphBatch(
+			options, 
+			new File(options.getBatchOutputPath()), 
+			options.getBatchThreads());
+		
+		int exitCode = 0;
+		try
+		{
+			exitCode = batch.process(
+				GraphBatch.listGraphFiles(new File(options.getBatchPath())));
+		}
+		catch (IOException e)
+		{
+			System.err.println(e.getMessage());
+			System.exit(IO_EXCEPTION);
+		}
+		
+		if (exitCode != 0)
+		{
+			System.exit(exitCode);
+		}
+	}
+	
+	/**
+	 * Examines the specified command line arguments for validity and gathers
+	 * the options which they specify.
 	 * 
-	 * @param args - <graph_file_path>
+	 * @param args - <graph_file_path> [options] or --serve=<port> [options]
 	 * 
-	 * @throws InvalidNumOfCmdLineArgsException - if more than 1 command line
-	 *     argument was passed.
+	 * @return options - the optional behaviors specified on the command line
+	 * 
+	 * @throws InvalidNumOfCmdLineArgsException - if no command line argument
+	 *     was passed.
+	 * @throws InvalidCmdLineOptionException - if an option following the 
+	 *     graph file path is unrecognized, malformed or incompatible with 
+	 *     another option
 	 */
-	private static void examineCmdLineArgs(String[] args)
-		throws InvalidNumOfCmdLineArgsException
+	private static GraphOptions examineCmdLineArgs(String[] args)
+		throws InvalidNumOfCmdLineArgsException, InvalidCmdLineOptionException
 	{
-		if (args.length != ONE_ARG)
+		if (args.length < ONE_ARG)
 		{
 			throw new InvalidNumOfCmdLineArgsException();
 		}
+		
+		GraphOptions options = new GraphOptions();
+		
+		int firstOptionIndex = INDEX_OF_GRAPH_FILE_PATH_ARG + 1;
+		if ((args[INDEX_OF_GRAPH_FILE_PATH_ARG].startsWith(SERVE_OPTION) == true)
+			|| (args[INDEX_OF_GRAPH_FILE_PATH_ARG].startsWith(BATCH_OPTION) 
+			== true))
+		{
+			firstOptionIndex = INDEX_OF_GRAPH_FILE_PATH_ARG;
+		}
+		
+		for (
+			int optionIndex = firstOptionIndex; 
+			optionIndex < args.length; 
+			++optionIndex)
+		{
+			String option = args[optionIndex];
+			
+			if ((option.startsWith(SERVE_OPTION) == true)
+				&& (optionIndex == INDEX_OF_GRAPH_FILE_PATH_ARG))
+			{
+				int serverPort = parseOptionValue(option, SERVE_OPTION);
+				if (serverPort > HIGHEST_PORT)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setServerPort(serverPort);
+				options.setTraversalCacheCapacity(
+					GraphOptions.DEFAULT_TRAVERSAL_CACHE_CAPACITY);
+			}
+			else if ((option.startsWith(BATCH_OPTION) == true)
+				&& (optionIndex == INDEX_OF_GRAPH_FILE_PATH_ARG))
+			{
+				String batchPath = option.substring(BATCH_OPTION.length());
+				if (batchPath.isEmpty() == true)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setBatchPath(batchPath);
+			}
+			else if (option.startsWith(BATCH_OUTPUT_OPTION) == true)
+			{
+				String batchOutputPath = 
+					option.substring(BATCH_OUTPUT_OPTION.length());
+				if (batchOutputPath.isEmpty() == true)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setBatchOutputPath(batchOutputPath);
+			}
+			else if (option.startsWith(BATCH_THREADS_OPTION) == true)
+			{
+				int batchThreads = parseOptionValue(option, BATCH_THREADS_OPTION);
+				if (batchThreads < 1)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setBatchThreads(batchThreads);
+			}
+			else if (option.startsWith(TRAVERSAL_CACHE_OPTION) == true)
+			{
+				options.setTraversalCacheCapacity(
+					(long) parseOptionValue(option, TRAVERSAL_CACHE_OPTION) 
+					<< MEBIBYTE_SHIFT);
+			}
+			else if (option.startsWith(GRAPH_CACHE_OPTION) == true)
+			{
+				int graphCacheCapacity = 
+					parseOptionValue(option, GRAPH_CACHE_OPTION);
+				if (graphCacheCapacity < 1)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setGraphCacheCapacity(graphCacheCapacity);
+			}
+			else if (option.startsWith(REORDER_OPTION) == true)
+			{
+				VertexOrdering vertexOrdering = VertexOrdering.fromName(
+					option.substring(REORDER_OPTION.length()));
+				if (vertexOrdering == null)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setVertexOrdering(vertexOrdering);
+			}
+			else if (option.startsWith(SOURCE_DEST_OPTION) == true)
+			{
+				String sourceDest = option.substring(SOURCE_DEST_OPTION.length());
+				if (sourceDest.contains(" ") == true)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setSourceDestLine(sourceDest.replace(',', ' '));
+			}
+			else if (option.equals(SPARSE_IDS_OPTION) == true)
+			{
+				options.setSparseIds(true);
+			}
+			else if (option.equals(COMPRESS_ADJACENCY_OPTION) == true)
+			{
+				options.setCompressedAdjacency(true);
+			}
+			else if (option.equals(REVERSE_INDEX_OPTION) == true)
+			{
+				options.setReverseIndex(true);
+			}
+			else if (option.startsWith(CLOSURE_OPTION) == true)
+			{
+				ClosureStrategy closureStrategy = ClosureStrategy.fromName(
+					option.substring(CLOSURE_OPTION.length()));
+				if (closureStrategy == null)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setClosureStrategy(closureStrategy);
+			}
+			else if (option.startsWith(CLOSURE_CHECKPOINT_OPTION) == true)
+			{
+				String closureCheckpointPath = 
+					option.substring(CLOSURE_CHECKPOINT_OPTION.length());
+				if (closureCheckpointPath.isEmpty() == true)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setClosureCheckpointPath(closureCheckpointPath);
+			}
+			else if (option.startsWith(CHECKPOINT_INTERVAL_OPTION) == true)
+			{
+				options.setClosureCheckpointIntervalNanos(
+					parseOptionValue(option, CHECKPOINT_INTERVAL_OPTION) 
+					* NANOS_PER_SECOND);
+			}
+			else if (option.equals(STATS_OPTION) == true)
+			{
+				options.setGraphProfile(true);
+			}
+			else if (option.equals(SCC_OPTION) == true)
+			{
+				options.setStronglyConnectedComponents(true);
+			}
+			else if (option.equals(DOMINATORS_OPTION) == true)
+			{
+				options.setDominators(true);
+			}
+			else if (option.equals(BFS_OPTION) == true)
+			{
+				options.setParallelBfs(true);
+			}
+			else if (option.startsWith(MAX_DEPTH_OPTION) == true)
+			{
+				options.setMaxSearchDepth(
+					parseOptionValue(option, MAX_DEPTH_OPTION));
+			}
+			else if (option.startsWith(MAX_VISITED_OPTION) == true)
+			{
+				options.setMaxSearchVisited(
+					parseOptionValue(option, MAX_VISITED_OPTION));
+			}
+			else if (option.startsWith(DEADLINE_OPTION) == true)
+			{
+				options.setSearchDeadlineNanos(
+					parseOptionValue(option, DEADLINE_OPTION) * NANOS_PER_MILLI);
+			}
+			else if (option.equals(ITERATIVE_DEEPENING_OPTION) == true)
+			{
+				options.setIterativeDeepening(true);
+			}
+			else if (option.startsWith(OUTPUT_OPTION) == true)
+			{
+				OutputFormat outputFormat = OutputFormat.fromName(
+					option.substring(OUTPUT_OPTION.length()));
+				if (outputFormat == null)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setOutputFormat(outputFormat);
+			}
+			else if (option.equals(SHORTEST_PATH_OPTION) == true)
+			{
+				options.setShortestPathAlgorithm(ShortestPathAlgorithm.AUTO);
+			}
+			else if (option.startsWith(SHORTEST_PATH_OPTION + "=") == true)
+			{
+				ShortestPathAlgorithm shortestPathAlgorithm = 
+					ShortestPathAlgorithm.fromName(option.substring(
+					SHORTEST_PATH_OPTION.length() + 1));
+				if (shortestPathAlgorithm == null)
+				{
+					throw new InvalidCmdLineOptionException(option);
+				}
+				options.setShortestPathAlgorithm(shortestPathAlgorithm);
+			}
+			else
+			{
+				throw new InvalidCmdLineOptionException(option);
+			}
+		}
+		
+		// A checkpoint holds the progress of a single graph by Warshall's 
+		// algorithm.
+		if ((options.getClosureCheckpointPath() != null)
+			&& ((options.getServerPort() != GraphOptions.NO_SERVER_PORT)
+			|| (options.getClosureStrategy() == ClosureStrategy.TRAVERSAL)))
+		{
+			throw new InvalidCmdLineOptionException(
+				CLOSURE_CHECKPOINT_OPTION + options.getClosureCheckpointPath());
+		}
+		
+		// A batch is processed without prompting, each graph file to a file of
+		// its own, and its graphs would overwrite a single checkpoint.
+		if ((options.getBatchPath() != null)
+			&& ((options.getBatchOutputPath() == null)
+			|| (options.getSourceDestLine() == null)
+			|| (options.getClosureCheckpointPath() != null)))
+		{
+			throw new InvalidCmdLineOptionException(
+				BATCH_OPTION + options.getBatchPath());
+		}
+		
+		// A graph streamed from standard input leaves no input for the prompt.
+		if ((args[INDEX_OF_GRAPH_FILE_PATH_ARG].equals(
+			GraphSource.STDIN_PATH) == true)
+			&& (options.getSourceDestLine() == null))
+		{
+			throw new InvalidCmdLineOptionException(GraphSource.STDIN_PATH);
+		}
+		
+		// Binary records are defined only for the results of every graph.
+		if ((options.getOutputFormat() == OutputFormat.BINARY)
+			&& ((options.getServerPort() != GraphOptions.NO_SERVER_PORT)
+			|| (options.isGraphProfile() == true)
+			|| (options.isStronglyConnectedComponents() == true)
+			|| (options.isDominators() == true)
+			|| (options.isParallelBfs() == true)
+			|| (options.isSearchBudgeted() == true)
+			|| (options.getShortestPathAlgorithm() 
+			!= ShortestPathAlgorithm.NONE)))
+		{
+			throw new InvalidCmdLineOptionException(
+				OUTPUT_OPTION + OutputFormat.BINARY.name().toLowerCase());
+		}
+		
+		return options;
+	}
+	
+	/**
+	 * Parses the non-negative integer which follows the specified prefix of
+	 * the specified command line option.
+	 * 
+	 * @param option - the command line option
+	 * @param prefix - the prefix of the command line option
+	 * 
+	 * @return value - the value of the command line option
+	 * 
+	 * @throws InvalidCmdLineOptionException - if the value is not a 
+	 *     non-negative integer
+	 */
+	private static int parseOptionValue(String option, String prefix)
+		throws InvalidCmdLineOptionException
+	{
+		int value = -1;
+		try
+		{
+			value = Integer.parseInt(option.substring(prefix.length()));
+		}
+		catch (NumberFormatException e)
+		{
+			throw new InvalidCmdLineOptionException(option);
+		}
+		
+		if (value < 0)
+		{
+			throw new InvalidCmdLineOptionException(option);
+		}
+		
+		return value;
 	}
 }
@@ -0,0 +1,779 @@
+package perform;
+
+/**
+ * Models the optional behaviors, specified on the command line, which alter 
+ * how a graph is read and processed.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class GraphOptions
+{
+	/**
+	 * The server port of a program which answers a single graph file from 
+	 * the command line rather than serving queries.
+	 */
+	static final int NO_SERVER_PORT = -1;
+	
+	/**
+	 * The number of nanoseconds between checkpoints of the closure for which
+	 * no interval was specified.
+	 */
+	static final long DEFAULT_CLOSURE_CHECKPOINT_INTERVAL_NANOS = 
+		60L * 1000000000L;
+	
+	/**
+	 * The number of graphs held in memory by a server for which no capacity
+	 * was specified.
+	 */
+	static final int DEFAULT_GRAPH_CACHE_CAPACITY = 8;
+	
+	/**
+	 * The number of bytes of cached searches held for each graph by a server
+	 * for which no capacity was specified.
+	 */
+	static final long DEFAULT_TRAVERSAL_CACHE_CAPACITY = 64L << 20;
+	
+	/**
+	 * The strategy by which the vertices are relabeled after the graph has 
+	 * been read.
+	 */
+	private VertexOrdering vertexOrdering;
+	
+	/**
+	 * Whether the IDs of the graph file may be any long integers rather than 
+	 * exactly the integers between 0 and (the number of vertices - 1).
+	 */
+	private boolean sparseIds;
+	
+	/**
+	 * The algorithm by which the shortest weighted path from the source 
+	 * vertex to the destination vertex is determined.
+	 */
+	private ShortestPathAlgorithm shortestPathAlgorithm;
+	
+	/**
+	 * Whether the lists of adjacent vertices are stored gap-encoded with
+	 * variable-length integers rather than as lists of integers.
+	 */
+	private boolean compressedAdjacency;
+	
+	/**
+	 * Whether the vertices from which each vertex is adjacent are gathered 
+	 * as the graph is read.
+	 */
+	private boolean reverseIndex;
+	
+	/**
+	 * The strategy by which the transitive closure of the graph is 
+	 * determined.
+	 */
+	private ClosureStrategy closureStrategy;
+	
+	/**
+	 * Whether the profile of the graph is reported.
+	 */
+	private boolean graphProfile;
+	
+	/**
+	 * The file to which the progress of Warshall's algorithm is persisted
+	 * and from which it is resumed; null if it is not persisted.
+	 */
+	private String closureCheckpointPath;
+	
+	/**
+	 * The number of nanoseconds between checkpoints of the closure.
+	 */
+	private long closureCheckpointIntervalNanos;
+	
+	/**
+	 * Whether the strongly connected components of the graph are determined.
+	 */
+	private boolean stronglyConnectedComponents;
+	
+	/**
+	 * Whether the dominators of the destination vertex, which every path 
+	 * from the source vertex to it passes through, are determined.
+	 */
+	private boolean dominators;
+	
+	/**
+	 * Whether the path of fewest edges from the source vertex to the 
+	 * destination vertex is determined by a parallel breadth-first search.
+	 */
+	private boolean parallelBfs;
+	
+	/**
+	 * The greatest number of edges along any path followed by the budgeted 
+	 * depth-first search; BudgetedSearch.UNLIMITED for no limit.
+	 */
+	private long maxSearchDepth;
+	
+	/**
+	 * The greatest number of vertices visited by the budgeted depth-first 
+	 * search; BudgetedSearch.UNLIMITED for no limit.
+	 */
+	private long maxSearchVisited;
+	
+	/**
+	 * The greatest number of nanoseconds taken by the budgeted depth-first 
+	 * search; BudgetedSearch.UNLIMITED for no limit.
+	 */
+	private long searchDeadlineNanos;
+	
+	/**
+	 * Whether the budgeted depth-first search is repeated with a doubling 
+	 * depth limit.
+	 */
+	private boolean iterativeDeepening;
+	
+	/**
+	 * The local port on which graph queries are served; NO_SERVER_PORT if a 
+	 * single graph file is processed from the command line.
+	 */
+	private int serverPort;
+	
+	/**
+	 * The greatest number of graphs which a server holds in memory at once.
+	 */
+	private int graphCacheCapacity;
+	
+	/**
+	 * The directory of graph files, or the text file which lists them, which
+	 * are processed as a batch; null if a single graph file is processed.
+	 */
+	private String batchPath;
+	
+	/**
+	 * The directory to which the results of every graph file of a batch are
+	 * written; null if none was specified.
+	 */
+	private String batchOutputPath;
+	
+	/**
+	 * The number of graph files of a batch which are processed at once.
+	 */
+	private int batchThreads;
+	
+	/**
+	 * The greatest number of bytes which the cached depth-first searches of 
+	 * each graph may occupy; 0 if searches are not cached.
+	 */
+	private long traversalCacheCapacity;
+	
+	/**
+	 * The encoding in which the results of a single graph file are written.
+	 */
+	private OutputFormat outputFormat;
+	
+	/**
+	 * The source vertex and destination vertex, separated by a space, which
+	 * are searched instead of those entered by the user; null if the user 
+	 * enters them.
+	 */
+	private String sourceDestLine;
+	
+	/**
+	 * Initializes every option to its default behavior.
+	 */
+	GraphOptions()
+	{
+		vertexOrdering = VertexOrdering.NONE;
+		sparseIds = false;
+		shortestPathAlgorithm = ShortestPathAlgorithm.NONE;
+		compressedAdjacency = false;
+		reverseIndex = false;
+		closureStrategy = ClosureStrategy.AUTO;
+		graphProfile = false;
+		closureCheckpointPath = null;
+		closureCheckpointIntervalNanos = 
+			DEFAULT_CLOSURE_CHECKPOINT_INTERVAL_NANOS;
+		stronglyConnectedComponents = false;
+		dominators = false;
+		parallelBfs = false;
+		maxSearchDepth = BudgetedSearch.UNLIMITED;
+		maxSearchVisited = BudgetedSearch.UNLIMITED;
+		searchDeadlineNanos = BudgetedSearch.UNLIMITED;
+		iterativeDeepening = false;
+		serverPort = NO_SERVER_PORT;
+		graphCacheCapacity = DEFAULT_GRAPH_CACHE_CAPACITY;
+		batchPath = null;
+		batchOutputPath = null;
+		batchThreads = Runtime.getRuntime().availableProcessors();
+		traversalCacheCapacity = 0;
+		outputFormat = OutputFormat.TEXT;
+		sourceDestLine = null;
+	}
+	
+	/**
+	 * Returns the strategy by which the vertices are relabeled.
+	 * 
+	 * @return vertexOrdering - the strategy by which the vertices are 
+	 *     relabeled after the graph has been read
+	 */
+	VertexOrdering getVertexOrdering()
+	{
+		return vertexOrdering;
+	}
+	
+	/**
+	 * Replaces the strategy by which the vertices are relabeled.
+	 * 
+	 * @param vertexOrdering - the strategy by which the vertices are 
+	 *     relabeled after the graph has been read
+	 */
+	void setVertexOrdering(VertexOrdering vertexOrdering)
+	{
+		this.vertexOrdering = vertexOrdering;
+	}
+	
+	/**
+	 * Returns whether the IDs of the graph file may be any long integers.
+	 * 
+	 * @return sparseIds - true if the IDs of the graph file may be any long 
+	 *     integers; false if they must be exactly the integers between 0 and 
+	 *     (the number of vertices - 1)
+	 */
+	boolean isSparseIds()
+	{
+		return sparseIds;
+	}
+	
+	/**
+	 * Replaces whether the IDs of the graph file may be any long integers.
+	 * 
+	 * @param sparseIds - true if the IDs of the graph file may be any long 
+	 *     integers; false if they must be exactly the integers between 0 and 
+	 *     (the number of vertices - 1)
+	 */
+	void setSparseIds(boolean sparseIds)
+	{
+		this.sparseIds = sparseIds;
+	}
+	
+	/**
+	 * Returns the algorithm by which the shortest weighted path is determined.
+	 * 
+	 * @return shortestPathAlgorithm - the algorithm by which the shortest 
+	 *     weighted path from the source vertex to the destination vertex is 
+	 *     determined
+	 */
+	ShortestPathAlgorithm getShortestPathAlgorithm()
+	{
+		return shortestPathAlgorithm;
+	}
+	
+	/**
+	 * Replaces the algorithm by which the shortest weighted path is 
+	 * determined.
+	 * 
+	 * @param shortestPathAlgorithm - the algorithm by which the shortest 
+	 *     weighted path from the source vertex to the destination vertex is 
+	 *     determined
+	 */
+	void setShortestPathAlgorithm(ShortestPathAlgorithm shortestPathAlgorithm)
+	{
+		this.shortestPathAlgorithm = shortestPathAlgorithm;
+	}
+	
+	/**
+	 * Returns whether the lists of adjacent vertices are stored compressed.
+	 * 
+	 * @return compressedAdjacency - true if the lists of adjacent vertices 
+	 *     are stored gap-encoded with variable-length integers; false 
+	 *     otherwise
+	 */
+	boolean isCompressedAdjacency()
+	{
+		return compressedAdjacency;
+	}
+	
+	/**
+	 * Replaces whether the lists of adjacent vertices are stored compressed.
+	 * 
+	 * @param compressedAdjacency - true if the lists of adjacent vertices 
+	 *     are stored gap-encoded with variable-length integers; false 
+	 *     otherwise
+	 */
+	void setCompressedAdjacency(boolean compressedAdjacency)
+	{
+		this.compressedAdjacency = compressedAdjacency;
+	}
+	
+	/**
+	 * Returns whether the in-edges of every vertex are gathered as the graph
+	 * is read.
+	 * 
+	 * @return reverseIndex - true if the vertices from which each vertex is
+	 *     adjacent are gathered as the graph is read; false otherwise
+	 */
+	boolean isReverseIndex()
+	{
+		return reverseIndex;
+	}
+	
+	/**
+	 * Replaces whether the in-edges of every vertex are gathered as the 
+	 * graph is read.
+	 * 
+	 * @param reverseIndex - true if the vertices from which each vertex is
+	 *     adjacent are gathered as the graph is read; false otherwise
+	 */
+	void setReverseIndex(boolean reverseIndex)
+	{
+		this.reverseIndex = reverseIndex;
+	}
+	
+	/**
+	 * Returns the strategy by which the transitive closure is determined.
+	 * 
+	 * @return closureStrategy - the strategy by which the transitive closure
+	 *     of the graph is determined
+	 */
+	ClosureStrategy getClosureStrategy()
+	{
+		return closureStrategy;
+	}
+	
+	/**
+	 * Replaces the strategy by which the transitive closure is determined.
+	 * 
+	 * @param closureStrategy - the strategy by which the transitive closure
+	 *     of the graph is determined
+	 */
+	void setClosureStrategy(ClosureStrategy closureStrategy)
+	{
+		this.closureStrategy = closureStrategy;
+	}
+	
+	/**
+	 * Returns whether the profile of the graph is reported.
+	 * 
+	 * @return graphProfile - true if the profile of the graph is reported;
+	 *     false otherwise
+	 */
+	boolean isGraphProfile()
+	{
+		return graphProfile;
+	}
+	
+	/**
+	 * Replaces whether the profile of the graph is reported.
+	 * 
+	 * @param graphProfile - true if the profile of the graph is reported;
+	 *     false otherwise
+	 */
+	void setGraphProfile(boolean graphProfile)
+	{
+		this.graphProfile = graphProfile;
+	}
+	
+	/**
+	 * Returns the file to which the progress of the closure is persisted.
+	 * 
+	 * @return closureCheckpointPath - the file to which the progress of 
+	 *     Warshall's algorithm is persisted and from which it is resumed; 
+	 *     null if it is not persisted
+	 */
+	String getClosureCheckpointPath()
+	{
+		return closureCheckpointPath;
+	}
+	
+	/**
+	 * Replaces the file to which the progress of the closure is persisted.
+	 * 
+	 * @param closureCheckpointPath - the file to which the progress of 
+	 *     Warshall's algorithm is persisted and from which it is resumed; 
+	 *     null if it is not persisted
+	 */
+	void setClosureCheckpointPath(String closureCheckpointPath)
+	{
+		this.closureCheckpointPath = closureCheckpointPath;
+	}
+	
+	/**
+	 * Returns the number of nanoseconds between checkpoints of the closure.
+	 * 
+	 * @return closureCheckpointIntervalNanos - the number of nanoseconds 
+	 *     between checkpoints of the closure
+	 */
+	long getClosureCheckpointIntervalNanos()
+	{
+		return closureCheckpointIntervalNanos;
+	}
+	
+	/**
+	 * Replaces the number of nanoseconds between checkpoints of the closure.
+	 * 
+	 * @param closureCheckpointIntervalNanos - the number of nanoseconds 
+	 *     between checkpoints of the closure
+	 */
+	void setClosureCheckpointIntervalNanos(long closureCheckpointIntervalNanos)
+	{
+		this.closureCheckpointIntervalNanos = closureCheckpointIntervalNanos;
+	}
+	
+	/**
+	 * Returns whether the strongly connected components are determined.
+	 * 
+	 * @return stronglyConnectedComponents - true if the strongly connected 
+	 *     components of the graph are determined; false otherwise
+	 */
+	boolean isStronglyConnectedComponents()
+	{
+		return stronglyConnectedComponents;
+	}
+	
+	/**
+	 * Replaces whether the strongly connected components are determined.
+	 * 
+	 * @param stronglyConnectedComponents - true if the strongly connected 
+	 *     components of the graph are determined; false otherwise
+	 */
+	void setStronglyConnectedComponents(boolean stronglyConnectedComponents)
+	{
+		this.stronglyConnectedComponents = stronglyConnectedComponents;
+	}
+	
+	/**
+	 * Returns whether the dominators of the destination vertex are 
+	 * determined.
+	 * 
+	 * @return dominators - true if the vertices which every path from the 
+	 *     source vertex to the destination vertex passes through are 
+	 *     determined; false otherwise
+	 */
+	boolean isDominators()
+	{
+		return dominators;
+	}
+	
+	/**
+	 * Replaces whether the dominators of the destination vertex are 
+	 * determined.
+	 * 
+	 * @param dominators - true if the vertices which every path from the 
+	 *     source vertex to the destination vertex passes through are 
+	 *     determined; false otherwise
+	 */
+	void setDominators(boolean dominators)
+	{
+		this.dominators = dominators;
+	}
+	
+	/**
+	 * Returns whether the path of fewest edges is determined.
+	 * 
+	 * @return parallelBfs - true if the path of fewest edges from the source
+	 *     vertex to the destination vertex is determined by a parallel 
+	 *     breadth-first search; false otherwise
+	 */
+	boolean isParallelBfs()
+	{
+		return parallelBfs;
+	}
+	
+	/**
+	 * Replaces whether the path of fewest edges is determined.
+	 * 
+	 * @param parallelBfs - true if the path of fewest edges from the source
+	 *     vertex to the destination vertex is determined by a parallel 
+	 *     breadth-first search; false otherwise
+	 */
+	void setParallelBfs(boolean parallelBfs)
+	{
+		this.parallelBfs = parallelBfs;
+	}
+	
+	/**
+	 * Returns whether a budgeted depth-first search is performed, which is 
+	 * the case once any limit or iterative deepening is specified.
+	 * 
+	 * @return searchBudgeted - true if a budgeted depth-first search is 
+	 *     performed; false otherwise
+	 */
+	boolean isSearchBudgeted()
+	{
+		return (maxSearchDepth != BudgetedSearch.UNLIMITED)
+			|| (maxSearchVisited != BudgetedSearch.UNLIMITED)
+			|| (searchDeadlineNanos != BudgetedSearch.UNLIMITED)
+			|| (iterativeDeepening == true);
+	}
+	
+	/**
+	 * Returns the greatest depth of the budgeted depth-first search.
+	 * 
+	 * @return maxSearchDepth - the greatest number of edges along any path 
+	 *     followed by the search; BudgetedSearch.UNLIMITED for no limit
+	 */
+	long getMaxSearchDepth()
+	{
+		return maxSearchDepth;
+	}
+	
+	/**
+	 * Replaces the greatest depth of the budgeted depth-first search.
+	 * 
+	 * @param maxSearchDepth - the greatest number of edges along any path 
+	 *     followed by the search; BudgetedSearch.UNLIMITED for no limit
+	 */
+	void setMaxSearchDepth(long maxSearchDepth)
+	{
+		this.maxSearchDepth = maxSearchDepth;
+	}
+	
+	/**
+	 * Returns the greatest number of vertices visited by the budgeted 
+	 * depth-first search.
+	 * 
+	 * @return maxSearchVisited - the greatest number of vertices visited by 
+	 *     the search; BudgetedSearch.UNLIMITED for no limit
+	 */
+	long getMaxSearchVisited()
+	{
+		return maxSearchVisited;
+	}
+	
+	/**
+	 * Replaces the greatest number of vertices visited by the budgeted 
+	 * depth-first search.
+	 * 
+	 * @param maxSearchVisited - the greatest number of vertices visited by 
+	 *     the search; BudgetedSearch.UNLIMITED for no limit
+	 */
+	void setMaxSearchVisited(long maxSearchVisited)
+	{
+		this.maxSearchVisited = maxSearchVisited;
+	}
+	
+	/**
+	 * Returns the time allotted to the budgeted depth-first search.
+	 * 
+	 * @return searchDeadlineNanos - the greatest number of nanoseconds taken 
+	 *     by the search; BudgetedSearch.UNLIMITED for no limit
+	 */
+	long getSearchDeadlineNanos()
+	{
+		return searchDeadlineNanos;
+	}
+	
+	/**
+	 * Replaces the time allotted to the budgeted depth-first search.
+	 * 
+	 * @param searchDeadlineNanos - the greatest number of nanoseconds taken 
+	 *     by the search; BudgetedSearch.UNLIMITED for no limit
+	 */
+	void setSearchDeadlineNanos(long searchDeadlineNanos)
+	{
+		this.searchDeadlineNanos = searchDeadlineNanos;
+	}
+	
+	/**
+	 * Returns whether the budgeted depth-first search deepens iteratively.
+	 * 
+	 * @return iterativeDeepening - true if the search is repeated with a 
+	 *     doubling depth limit; false otherwise
+	 */
+	boolean isIterativeDeepening()
+	{
+		return iterativeDeepening;
+	}
+	
+	/**
+	 * Replaces whether the budgeted depth-first search deepens iteratively.
+	 * 
+	 * @param iterativeDeepening - true if the search is repeated with a 
+	 *     doubling depth limit; false otherwise
+	 */
+	void setIterativeDeepening(boolean iterativeDeepening)
+	{
+		this.iterativeDeepening = iterativeDeepening;
+	}
+	
+	/**
+	 * Returns the local port on which graph queries are served.
+	 * 
+	 * @return serverPort - the local port on which graph queries are served;
+	 *     NO_SERVER_PORT if a single graph file is processed from the command
+	 *     line
+	 */
+	int getServerPort()
+	{
+		return serverPort;
+	}
+	
+	/**
+	 * Replaces the local port on which graph queries are served.
+	 * 
+	 * @param serverPort - the local port on which graph queries are served;
+	 *     NO_SERVER_PORT if a single graph file is processed from the command
+	 *     line
+	 */
+	void setServerPort(int serverPort)
+	{
+		this.serverPort = serverPort;
+	}
+	
+	/**
+	 * Returns the greatest number of graphs which a server holds in memory.
+	 * 
+	 * @return graphCacheCapacity - the greatest number of graphs which a 
+	 *     server holds in memory at once
+	 */
+	int getGraphCacheCapacity()
+	{
+		return graphCacheCapacity;
+	}
+	
+	/**
+	 * Replaces the greatest number of graphs which a server holds in memory.
+	 * 
+	 * @param graphCacheCapacity - the greatest number of graphs which a 
+	 *     server holds in memory at once
+	 */
+	void setGraphCacheCapacity(int graphCacheCapacity)
+	{
+		this.graphCacheCapacity = graphCacheCapacity;
+	}
+	
+	/**
+	 * Returns the graph files which are processed as a batch.
+	 * 
+	 * @return batchPath - the directory of graph files, or the text file 
+	 *     which lists them, which are processed as a batch; null if a single 
+	 *     graph file is processed
+	 */
+	String getBatchPath()
+	{
+		return batchPath;
+	}
+	
+	/**
+	 * Replaces the graph files which are processed as a batch.
+	 * 
+	 * @param batchPath - the directory of graph files, or the text file 
+	 *     which lists them, which are processed as a batch; null if a single 
+	 *     graph file is processed
+	 */
+	void setBatchPath(String batchPath)
+	{
+		this.batchPath = batchPath;
+	}
+	
+	/**
+	 * Returns the directory to which the results of a batch are written.
+	 * 
+	 * @return batchOutputPath - the directory to which the results of every 
+	 *     graph file of a batch are written; null if none was specified
+	 */
+	String getBatchOutputPath()
+	{
+		return batchOutputPath;
+	}
+	
+	/**
+	 * Replaces the directory to which the results of a batch are written.
+	 * 
+	 * @param batchOutputPath - the directory to which the results of every 
+	 *     graph file of a batch are written; null if none was specified
+	 */
+	void setBatchOutputPath(String batchOutputPath)
+	{
+		this.batchOutputPath = batchOutputPath;
+	}
+	
+	/**
+	 * Returns the number of graph files of a batch processed at once.
+	 * 
+	 * @return batchThreads - the number of graph files of a batch which are 
+	 *     processed at once
+	 */
+	int getBatchThreads()
+	{
+		return batchThreads;
+	}
+	
+	/**
+	 * Replaces the number of graph files of a batch processed at once.
+	 * 
+	 * @param batchThreads - the number of graph files of a batch which are 
+	 *     processed at once
+	 */
+	void setBatchThreads(int batchThreads)
+	{
+		this.batchThreads = batchThreads;
+	}
+	
+	/**
+	 * Returns the greatest number of bytes which the cached depth-first 
+	 * searches of each graph may occupy.
+	 * 
+	 * @return traversalCacheCapacity - the greatest number of bytes which the
+	 *     cached searches of each graph may occupy; 0 if searches are not 
+	 *     cached
+	 */
+	long getTraversalCacheCapacity()
+	{
+		return traversalCacheCapacity;
+	}
+	
+	/**
+	 * Replaces the greatest number of bytes which the cached depth-first 
+	 * searches of each graph may occupy.
+	 * 
+	 * @param traversalCacheCapacity - the greatest number of bytes which the
+	 *     cached searches of each graph may occupy; 0 if searches are not 
+	 *     cached
+	 */
+	void setTraversalCacheCapacity(long traversalCacheCapacity)
+	{
+		this.traversalCacheCapacity = traversalCacheCapacity;
+	}
+	
+	/**
+	 * Returns the encoding in which the results are written.
+	 * 
+	 * @return outputFormat - the encoding in which the results of a single 
+	 *     graph file are written
+	 */
+	OutputFormat getOutputFormat()
+	{
+		return outputFormat;
+	}
+	
+	/**
+	 * Replaces the encoding in which the results are written.
+	 * 
+	 * @param outputFormat - the encoding in which the results of a single 
+	 *     graph file are written
+	 */
+	void setOutputFormat(OutputFormat outputFormat)
+	{
+		this.outputFormat = outputFormat;
+	}
+	
+	/**
+	 * Returns the source vertex and destination vertex which are searched 
+	 * instead of those entered by the user.
+	 * 
+	 * @return sourceDestLine - the IDs of the source vertex and destination 
+	 *     vertex, separated by a space; null if the user enters them
+	 */
+	String getSourceDestLine()
+	{
+		return sourceDestLine;
+	}
+	
+	/**
+	 * Replaces the source vertex and destination vertex which are searched 
+	 * instead of those entered by the user.
+	 * 
+	 * @param sourceDestLine - the IDs of the source vertex and destination 
+	 *     vertex, separated by a space; null if the user enters them
+	 */
+	void setSourceDestLine(String sourceDestLine)
+	{
+		this.sourceDestLine = sourceDestLine;
+	}
+}
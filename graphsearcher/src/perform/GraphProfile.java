@@ -0,0 +1,389 @@
+package perform;
+
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Profiles the shape of a directed graph in a single parallel pass over its
+ * adjacencies, and chooses from the profile the cheapest strategies by which
+ * the graph is searched.
+ * 
+ * <p>The vertices are split into chunks which the worker threads examine
+ * concurrently. Each chunk counts the adjacencies, self-loops and
+ * out-degrees of its own vertices, while the in-degrees of every vertex are
+ * counted in an array of atomic integers. Degrees are histogrammed in
+ * buckets of powers of two. The diameter is estimated afterwards by
+ * repeated sweeps of the parallel breadth-first search, each from the 
+ * farthest vertex reached by the previous one, which gives a lower bound 
+ * that is usually close.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class GraphProfile
+{
+	/**
+	 * The number of vertex chunks handed to each worker thread. A chunk costs
+	 * as much as the adjacencies of its vertices, so a chunk holding a hub 
+	 * takes longer than the others while they are taken by idle threads.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+	
+	/**
+	 * The number of vertices below which the graph is profiled by the
+	 * calling thread alone, as dividing it would cost more than it saves.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 4096;
+	
+	/**
+	 * The number of buckets of each degree histogram: one for degree 0 and
+	 * one for each power of two up to that of the greatest integer.
+	 */
+	private static final int NUM_OF_BUCKETS = Integer.SIZE + 1;
+	
+	/**
+	 * The greatest number of breadth-first sweeps which estimate the
+	 * diameter.
+	 */
+	private static final int DIAMETER_SWEEPS = 4;
+	
+	/**
+	 * The factor by which a traversal of an adjacency is assumed to cost more
+	 * than an update of a matrix element, since it is not sequential.
+	 */
+	private static final int TRAVERSAL_COST_FACTOR = 8;
+	
+	/**
+	 * The number of edges from which delta-stepping is preferred over
+	 * Dijkstra's algorithm.
+	 */
+	private static final long PARALLEL_EDGE_THRESHOLD = 1000000L;
+	
+	/**
+	 * The estimated diameter above which delta-stepping is not preferred,
+	 * since each of its many buckets would hold too few vertices to divide.
+	 */
+	private static final int PARALLEL_DIAMETER_LIMIT = 1000;
+	
+	/**
+	 * The number of vertices of the graph.
+	 */
+	private final int numOfVertices;
+	
+	/**
+	 * The number of adjacencies of the graph.
+	 */
+	private final long numOfEdges;
+	
+	/**
+	 * The number of repeated adjacencies which were removed as the graph was
+	 * read.
+	 */
+	private final long numOfRepeatedEdges;
+	
+	/**
+	 * The number of vertices adjacent to themselves.
+	 */
+	private long numOfSelfLoops;
+	
+	/**
+	 * The greatest number of vertices adjacent to a vertex.
+	 */
+	private int maxOutDegree;
+	
+	/**
+	 * The greatest number of vertices from which a vertex is adjacent.
+	 */
+	private int maxInDegree;
+	
+	/**
+	 * The number of vertices of each bucket of out-degrees.
+	 */
+	private final long[] outDegreeHistogram;
+	
+	/**
+	 * The number of vertices of each bucket of in-degrees.
+	 */
+	private final long[] inDegreeHistogram;
+	
+	/**
+	 * The greatest distance, in edges, found between two vertices.
+	 */
+	private int estimatedDiameter;
+	
+	/**
+	 * Profiles the specified graph.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * @param numOfRepeatedEdges - the number of repeated adjacencies which
+	 *     were removed as the graph was read
+	 */
+	GraphProfile(Adjacency adjacency, long numOfRepeatedEdges)
+	{
+		numOfVertices = adjacency.numOfVertices();
+		numOfEdges = adjacency.numOfEdges();
+		this.numOfRepeatedEdges = numOfRepeatedEdges;
+		
+		numOfSelfLoops = 0;
+		maxOutDegree = 0;
+		maxInDegree = 0;
+		outDegreeHistogram = new long[NUM_OF_BUCKETS];
+		inDegreeHistogram = new long[NUM_OF_BUCKETS];
+		estimatedDiameter = 0;
+		
+		countDegrees(adjacency);
+		estimateDiameter(adjacency);
+	}
+	
+	/**
+	 * Returns the cheaper strategy by which the transitive closure of the
+	 * graph is determined. Warshall's algorithm updates every element of the
+	 * matrix once for each vertex, while a traversal from every vertex
+	 * follows every adjacency once for each vertex.
+	 * 
+	 * @return strategy - the cheaper strategy, never AUTO
+	 */
+	ClosureStrategy recommendClosureStrategy()
+	{
+		double matrixCost = (double) numOfVertices * numOfVertices;
+		double traversalCost =
+			(double) (numOfVertices + numOfEdges) * TRAVERSAL_COST_FACTOR;
+		if (traversalCost < matrixCost)
+		{
+			return ClosureStrategy.TRAVERSAL;
+		}
+		
+		return ClosureStrategy.MATRIX;
+	}
+	
+	/**
+	 * Returns the cheaper algorithm by which the shortest weighted path is
+	 * determined. Delta-stepping is preferred only for large graphs of small
+	 * diameter and only if more than one processor is available.
+	 * 
+	 * @return algorithm - the cheaper algorithm, never NONE or AUTO
+	 */
+	ShortestPathAlgorithm recommendShortestPathAlgorithm()
+	{
+		if ((numOfEdges >= PARALLEL_EDGE_THRESHOLD)
+			&& (estimatedDiameter <= PARALLEL_DIAMETER_LIMIT)
+			&& (Runtime.getRuntime().availableProcessors() > 1))
+		{
+			return ShortestPathAlgorithm.DELTA;
+		}
+		
+		return ShortestPathAlgorithm.DIJKSTRA;
+	}
+	
+	/**
+	 * Formats the profile of the graph and the strategies chosen from it.
+	 * 
+	 * @return profileStats - one line for each group of statistics
+	 */
+	String format()
+	{
+		String indentation = "         ";
+		
+		double density = 0;
+		if (numOfVertices > 0)
+		{
+			density = numOfEdges / ((double) numOfVertices * numOfVertices);
+		}
+		
+		return
+			"[Stats]: " +
+			numOfVertices + " Vertices, " +
+			numOfEdges + " Edges, " +
+			numOfSelfLoops + " Self-Loops, " +
+			numOfRepeatedEdges + " Repeated Edges Dropped\n" +
+			indentation +
+			"Density: " + String.format(Locale.ROOT, "%.6f", density) +
+			", Max Out-Degree: " + maxOutDegree +
+			", Max In-Degree: " + maxInDegree +
+			", Estimated Diameter: " + estimatedDiameter + "\n" +
+			indentation +
+			"Out-Degrees: " + formatHistogram(outDegreeHistogram) + "\n" +
+			indentation +
+			"In-Degrees: " + formatHistogram(inDegreeHistogram) + "\n" +
+			indentation +
+			"Closure: " +
+			recommendClosureStrategy().name().toLowerCase(Locale.ROOT) +
+			", Shortest Path: " +
+			recommendShortestPathAlgorithm().name().toLowerCase(Locale.ROOT);
+	}
+	
+	/**
+	 * Counts the adjacencies, self-loops, out-degrees and in-degrees of every
+	 * vertex, dividing the vertices among the worker threads.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 */
+	private void countDegrees(final Adjacency adjacency)
+	{
+		int numOfChunks = 1;
+		if (numOfVertices >= SEQUENTIAL_THRESHOLD)
+		{
+			int numOfThreads = Runtime.getRuntime().availableProcessors();
+			numOfChunks = numOfThreads * CHUNKS_PER_THREAD;
+		}
+		final int chunkSize =
+			Math.max(1, (numOfVertices + numOfChunks - 1) / numOfChunks);
+		
+		final AtomicIntegerArray inDegrees =
+			new AtomicIntegerArray(numOfVertices);
+		final long[][] chunkHistograms = new long[numOfChunks][];
+		final long[] chunkSelfLoops = new long[numOfChunks];
+		final int[] chunkMaxOutDegrees = new int[numOfChunks];
+		IntStream chunks = IntStream.range(0, numOfChunks);
+		if (numOfChunks > 1)
+		{
+			chunks = chunks.parallel();
+		}
+		chunks.forEach(chunk ->
+		{
+			long[] histogram = new long[NUM_OF_BUCKETS];
+			long selfLoops = 0;
+			int maxDegree = 0;
+			
+			int end = Math.min(numOfVertices, (chunk + 1) * chunkSize);
+			for (int vertexId = chunk * chunkSize; vertexId < end; ++vertexId)
+			{
+				int degree = adjacency.degree(vertexId);
+				++histogram[bucketOf(degree)];
+				maxDegree = Math.max(maxDegree, degree);
+				
+				PrimitiveIterator.OfInt adjs = adjacency.neighbors(vertexId);
+				while (adjs.hasNext() == true)
+				{
+					int adjVertexId = adjs.nextInt();
+					if (adjVertexId == vertexId)
+					{
+						++selfLoops;
+					}
+					inDegrees.incrementAndGet(adjVertexId);
+				}
+			}
+			
+			chunkHistograms[chunk] = histogram;
+			chunkSelfLoops[chunk] = selfLoops;
+			chunkMaxOutDegrees[chunk] = maxDegree;
+		});
+		
+		for (int chunk = 0; chunk < numOfChunks; ++chunk)
+		{
+			for (int bucket = 0; bucket < NUM_OF_BUCKETS; ++bucket)
+			{
+				outDegreeHistogram[bucket] += chunkHistograms[chunk][bucket];
+			}
+			numOfSelfLoops += chunkSelfLoops[chunk];
+			maxOutDegree = Math.max(maxOutDegree, chunkMaxOutDegrees[chunk]);
+		}
+		
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			int degree = inDegrees.get(vertexId);
+			++inDegreeHistogram[bucketOf(degree)];
+			maxInDegree = Math.max(maxInDegree, degree);
+		}
+	}
+	
+	/**
+	 * Estimates the diameter of the graph by breadth-first sweeps. The first
+	 * sweep begins at a vertex of greatest out-degree, and each following
+	 * sweep at the farthest vertex reached by the previous sweep, until that
+	 * vertex has no adjacent vertex.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 */
+	private void estimateDiameter(Adjacency adjacency)
+	{
+		if (numOfVertices == 0)
+		{
+			return;
+		}
+		
+		int startVertexId = 0;
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			if (adjacency.degree(vertexId) > adjacency.degree(startVertexId))
+			{
+				startVertexId = vertexId;
+			}
+		}
+		
+		ParallelBfs bfs = new ParallelBfs(adjacency);
+		for (int sweep = 0; sweep < DIAMETER_SWEEPS; ++sweep)
+		{
+			bfs.search(startVertexId, ParallelBfs.NO_DESTINATION);
+			
+			int farthestVertexId = bfs.getFarthestVertex();
+			estimatedDiameter = Math.max(estimatedDiameter, bfs.getDepth());
+			if ((farthestVertexId == startVertexId)
+				|| (adjacency.degree(farthestVertexId) == 0))
+			{
+				break;
+			}
+			startVertexId = farthestVertexId;
+		}
+	}
+	
+	/**
+	 * Returns the bucket of the specified degree: 0 for degree 0, and
+	 * otherwise one more than the power of two at or below the degree.
+	 * 
+	 * @param degree - the degree
+	 * 
+	 * @return bucket - the index of the bucket within a histogram
+	 */
+	private static int bucketOf(int degree)
+	{
+		return Integer.SIZE - Integer.numberOfLeadingZeros(degree);
+	}
+	
+	/**
+	 * Formats the non-empty buckets of the specified histogram as the range
+	 * of degrees of each followed by its number of vertices.
+	 * 
+	 * @param histogram - the number of vertices of each bucket
+	 * 
+	 * @return buckets - the labeled buckets, separated by commas
+	 */
+	private static String formatHistogram(long[] histogram)
+	{
+		StringBuilder buckets = new StringBuilder();
+		for (int bucket = 0; bucket < NUM_OF_BUCKETS; ++bucket)
+		{
+			if (histogram[bucket] == 0)
+			{
+				continue;
+			}
+			if (buckets.length() > 0)
+			{
+				buckets.append(", ");
+			}
+			
+			long lowest = 0;
+			long highest = 0;
+			if (bucket > 0)
+			{
+				lowest = 1L << (bucket - 1);
+				highest = (1L << bucket) - 1;
+			}
+			buckets.append(lowest);
+			if (highest > lowest)
+			{
+				buckets.append('-');
+				buckets.append(highest);
+			}
+			buckets.append(": ");
+			buckets.append(histogram[bucket]);
+		}
+		
+		return buckets.toString();
+	}
+}
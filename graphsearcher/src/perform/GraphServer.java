@@ -0,0 +1,526 @@
+package perform;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import exceptions.CannotReadGraphFileException;
+import exceptions.InvalidEdgeException;
+import exceptions.InvalidSourceDestException;
+
+/**
+ * Answers queries of graph files over a local socket, keeping the graphs 
+ * which were read in memory so that only the first query of a graph file 
+ * pays for reading it. Each connection is served by its own thread.
+ * 
+ * <p>Each request is a single line, and each response is one or more lines
+ * followed by a line holding only END. The requests are:
+ * <pre>
+ * PATH &lt;source&gt; &lt;dest&gt; &lt;graph_file_path&gt;
+ * REACH &lt;source&gt; &lt;dest&gt; &lt;graph_file_path&gt;
+ * SHORTEST &lt;source&gt; &lt;dest&gt; &lt;graph_file_path&gt;
+ * HOPS &lt;source&gt; &lt;dest&gt; &lt;graph_file_path&gt;
+ * BUDGET &lt;source&gt; &lt;dest&gt; &lt;graph_file_path&gt;
+ * DOM &lt;source&gt; &lt;dest&gt; &lt;graph_file_path&gt;
+ * VIA &lt;vertex&gt; &lt;source&gt; &lt;dest&gt; &lt;graph_file_path&gt;
+ * PRED &lt;vertex&gt; &lt;graph_file_path&gt;
+ * CLOSURE &lt;graph_file_path&gt;
+ * CYCLE &lt;graph_file_path&gt;
+ * SCC &lt;graph_file_path&gt;
+ * STATS &lt;graph_file_path&gt;
+ * PROFILE &lt;graph_file_path&gt;
+ * QUIT
+ * </pre>
+ * The graph file path is the remainder of the line, so it may hold spaces.
+ * The responses match the lines printed for a single graph file from the
+ * command line, REACH answers true or false, VIA answers true or false for
+ * whether every path from the source to the dest passes through the 
+ * vertex, PRED answers the vertices from which the vertex is adjacent and 
+ * their number, STATS answers the hits, misses, and evictions of the 
+ * graph's cached searches, PROFILE answers the shape of the graph and the 
+ * strategies chosen for it, and a failed request is answered by a single 
+ * line beginning with ERROR.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class GraphServer
+{
+	// Requests
+	/**
+	 * The request for the depth-first search path between two vertices.
+	 */
+	private static final String PATH_REQUEST = "PATH";
+	
+	/**
+	 * The request for whether one vertex is reachable from another.
+	 */
+	private static final String REACH_REQUEST = "REACH";
+	
+	/**
+	 * The request for the shortest weighted path between two vertices.
+	 */
+	private static final String SHORTEST_REQUEST = "SHORTEST";
+	
+	/**
+	 * The request for the path of fewest edges between two vertices.
+	 */
+	private static final String HOPS_REQUEST = "HOPS";
+	
+	/**
+	 * The request for the depth-first search path between two vertices 
+	 * within the search budget of the server.
+	 */
+	private static final String BUDGET_REQUEST = "BUDGET";
+	
+	/**
+	 * The request for the dominators of a destination vertex, which every 
+	 * path from a source vertex to it passes through.
+	 */
+	private static final String DOM_REQUEST = "DOM";
+	
+	/**
+	 * The request for whether every path between two vertices passes 
+	 * through a third.
+	 */
+	private static final String VIA_REQUEST = "VIA";
+	
+	/**
+	 * The request for the vertices from which a vertex is adjacent.
+	 */
+	private static final String PRED_REQUEST = "PRED";
+	
+	/**
+	 * The request for the transitive closure edges of a graph.
+	 */
+	private static final String CLOSURE_REQUEST = "CLOSURE";
+	
+	/**
+	 * The request for whether a graph is cyclic.
+	 */
+	private static final String CYCLE_REQUEST = "CYCLE";
+	
+	/**
+	 * The request for the metrics of the cached searches of a graph.
+	 */
+	private static final String STATS_REQUEST = "STATS";
+	
+	/**
+	 * The request for the strongly connected components of a graph.
+	 */
+	private static final String SCC_REQUEST = "SCC";
+	
+	/**
+	 * The request for the profile of a graph.
+	 */
+	private static final String PROFILE_REQUEST = "PROFILE";
+	
+	/**
+	 * The request which closes the connection.
+	 */
+	private static final String QUIT_REQUEST = "QUIT";
+	
+	// Responses
+	/**
+	 * The line which ends every response.
+	 */
+	private static final String END_OF_RESPONSE = "END";
+	
+	/**
+	 * The prefix of the response to a failed request.
+	 */
+	private static final String ERROR_RESPONSE = "ERROR ";
+	
+	// Request fields
+	/**
+	 * The number of fields of a request for two vertices of a graph.
+	 */
+	private static final int SOURCE_DEST_REQUEST_FIELDS = 4;
+	
+	/**
+	 * The number of fields of a request for whether every path between two 
+	 * vertices of a graph passes through a third.
+	 */
+	private static final int VIA_REQUEST_FIELDS = 5;
+	
+	/**
+	 * The number of fields of a request for one vertex of a graph.
+	 */
+	private static final int VERTEX_REQUEST_FIELDS = 3;
+	
+	/**
+	 * The number of fields of a request for a whole graph.
+	 */
+	private static final int GRAPH_REQUEST_FIELDS = 2;
+	
+	/**
+	 * The index, within a request for two vertices, of the source vertex.
+	 */
+	private static final int SOURCE_FIELD = 1;
+	
+	/**
+	 * The index, within a request for two vertices, of the graph file path.
+	 */
+	private static final int SOURCE_DEST_GRAPH_FIELD = 3;
+	
+	/**
+	 * The index, within a request for whether every path between two 
+	 * vertices passes through a third, of the third vertex.
+	 */
+	private static final int VIA_VERTEX_FIELD = 1;
+	
+	/**
+	 * The index, within a request for whether every path between two 
+	 * vertices passes through a third, of the source vertex.
+	 */
+	private static final int VIA_SOURCE_FIELD = 2;
+	
+	/**
+	 * The index, within a request for whether every path between two 
+	 * vertices passes through a third, of the graph file path.
+	 */
+	private static final int VIA_GRAPH_FIELD = 4;
+	
+	/**
+	 * The index, within a request for one vertex, of the vertex.
+	 */
+	private static final int VERTEX_FIELD = 1;
+	
+	/**
+	 * The index, within a request for one vertex, of the graph file path.
+	 */
+	private static final int VERTEX_GRAPH_FIELD = 2;
+	
+	/**
+	 * The index, within a request for a whole graph, of the graph file path.
+	 */
+	private static final int GRAPH_FIELD = 1;
+	
+	/**
+	 * The number of connections which may wait to be accepted.
+	 */
+	private static final int CONNECTION_BACKLOG = 50;
+	
+	/**
+	 * The local port on which queries are served.
+	 */
+	private final int port;
+	
+	/**
+	 * The graphs held in memory between queries.
+	 */
+	private final GraphCache graphCache;
+	
+	/**
+	 * Initializes a server which answers queries on the specified local port.
+	 * 
+	 * @param port - the local port on which queries are served; 0 for any 
+	 *     free port
+	 * @param graphCache - the graphs held in memory between queries
+	 */
+	GraphServer(int port, GraphCache graphCache)
+	{
+		this.port = port;
+		this.graphCache = graphCache;
+	}
+	
+	/**
+	 * Accepts connections on the loopback address until this program is 
+	 * terminated, serving each connection on its own thread.
+	 * 
+	 * @throws IOException - if the port could not be bound or a connection
+	 *     could not be accepted
+	 */
+	void serve()
+		throws IOException
+	{
+		ExecutorService connectionExecutor = Executors.newCachedThreadPool();
+		
+		try (
+			ServerSocket serverSocket = new ServerSocket(
+			port, CONNECTION_BACKLOG, InetAddress.getLoopbackAddress());)
+		{
+			System.out.println(
+				"Serving graph queries on port " + 
+				serverSocket.getLocalPort());
+			
+			while (true)
+			{
+				final Socket connection = serverSocket.accept();
+				connectionExecutor.execute(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						serveConnection(connection);
+					}
+				});
+			}
+		}
+		finally
+		{
+			connectionExecutor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Answers the requests of the specified connection until it is closed or
+	 * requests to quit.
+	 * 
+	 * @param connection - the connection to serve
+	 */
+	private void serveConnection(Socket connection)
+	{
+		try (
+			Socket socket = connection;
+			BufferedReader requestReader = new BufferedReader(
+			new InputStreamReader(
+			socket.getInputStream(), StandardCharsets.UTF_8));
+			Writer responseWriter = new BufferedWriter(
+			new OutputStreamWriter(
+			socket.getOutputStream(), StandardCharsets.UTF_8));)
+		{
+			String request = null;
+			while ((request = requestReader.readLine()) != null)
+			{
+				if (request.trim().equals(QUIT_REQUEST) == true)
+				{
+					break;
+				}
+				
+				responseWriter.write(answer(request.trim()));
+				responseWriter.write("\n" + END_OF_RESPONSE + "\n");
+				responseWriter.flush();
+			}
+		}
+		catch (IOException e)
+		{
+			// The client disconnected; nothing remains to be answered.
+		}
+	}
+	
+	/**
+	 * Answers the specified request.
+	 * 
+	 * @param request - the request, without its line terminator
+	 * 
+	 * @return response - the lines answering the request, without the line
+	 *     which ends the response
+	 */
+	String answer(String request)
+	{
+		String[] fields = request.split(" ", SOURCE_DEST_REQUEST_FIELDS);
+		String command = fields[0];
+		
+		try
+		{
+			switch (command)
+			{
+				case PATH_REQUEST:
+				case REACH_REQUEST:
+				case SHORTEST_REQUEST:
+				case HOPS_REQUEST:
+				case BUDGET_REQUEST:
+				case DOM_REQUEST:
+					return answerSourceDest(request);
+				case VIA_REQUEST:
+					return answerVia(request);
+				case PRED_REQUEST:
+					return answerVertex(request);
+				case CLOSURE_REQUEST:
+				case CYCLE_REQUEST:
+				case STATS_REQUEST:
+				case SCC_REQUEST:
+				case PROFILE_REQUEST:
+					return answerGraph(request);
+				default:
+					return ERROR_RESPONSE + "Unknown request: " + request;
+			}
+		}
+		catch (
+			CannotReadGraphFileException 
+			| InvalidEdgeException 
+			| InvalidSourceDestException 
+			| IOException e)
+		{
+			return ERROR_RESPONSE + e.getMessage().replace('\n', ' ');
+		}
+		catch (RuntimeException e)
+		{
+			// A failed query must not end the connection or the server.
+			return ERROR_RESPONSE + e;
+		}
+	}
+	
+	/**
+	 * Answers the specified request for two vertices of a graph.
+	 * 
+	 * @param request - the request, without its line terminator
+	 * 
+	 * @return response - the lines answering the request
+	 * 
+	 * @throws CannotReadGraphFileException - if the requested graph file
+	 *     could not be read
+	 * @throws InvalidEdgeException - if the format of at least one edge, 
+	 *     represented within the requested graph file, is invalid
+	 * @throws InvalidSourceDestException - if either the requested source
+	 *     vertex or the requested destination vertex is invalid
+	 * @throws IOException - if an error related to an IO event disrupted the
+	 *     reading of the graph file
+	 */
+	private String answerSourceDest(String request)
+		throws 
+		CannotReadGraphFileException, 
+		InvalidEdgeException, 
+		InvalidSourceDestException, 
+		IOException
+	{
+		String[] fields = request.split(" ", SOURCE_DEST_REQUEST_FIELDS);
+		if (fields.length != SOURCE_DEST_REQUEST_FIELDS)
+		{
+			return ERROR_RESPONSE + "Malformed request: " + request;
+		}
+		
+		Graph graph = graphCache.get(fields[SOURCE_DEST_GRAPH_FIELD]);
+		int[] sourceDest = graph.parseSourceDest(
+			fields[SOURCE_FIELD] + " " + fields[SOURCE_FIELD + 1]);
+		
+		switch (fields[0])
+		{
+			case PATH_REQUEST:
+				return graph.queryPath(sourceDest);
+			case REACH_REQUEST:
+				return String.valueOf(graph.queryReachable(sourceDest));
+			case HOPS_REQUEST:
+				return graph.queryFewestHopsPath(sourceDest);
+			case BUDGET_REQUEST:
+				return graph.queryBudgetedPath(sourceDest);
+			case DOM_REQUEST:
+				return graph.queryDominators(sourceDest);
+			default:
+				return graph.queryShortestPath(sourceDest);
+		}
+	}
+	
+	/**
+	 * Answers the specified request for whether every path between two 
+	 * vertices of a graph passes through a third.
+	 * 
+	 * @param request - the request, without its line terminator
+	 * 
+	 * @return response - true or false
+	 * 
+	 * @throws CannotReadGraphFileException - if the requested graph file
+	 *     could not be read
+	 * @throws InvalidEdgeException - if the format of at least one edge, 
+	 *     represented within the requested graph file, is invalid
+	 * @throws InvalidSourceDestException - if any requested vertex is 
+	 *     invalid
+	 * @throws IOException - if an error related to an IO event disrupted the
+	 *     reading of the graph file
+	 */
+	private String answerVia(String request)
+		throws 
+		CannotReadGraphFileException, 
+		InvalidEdgeException, 
+		InvalidSourceDestException, 
+		IOException
+	{
+		String[] fields = request.split(" ", VIA_REQUEST_FIELDS);
+		if (fields.length != VIA_REQUEST_FIELDS)
+		{
+			return ERROR_RESPONSE + "Malformed request: " + request;
+		}
+		
+		Graph graph = graphCache.get(fields[VIA_GRAPH_FIELD]);
+		int vertexId = graph.parseVertex(fields[VIA_VERTEX_FIELD]);
+		int[] sourceDest = graph.parseSourceDest(
+			fields[VIA_SOURCE_FIELD] + " " + fields[VIA_SOURCE_FIELD + 1]);
+		
+		return String.valueOf(graph.queryPassesThrough(vertexId, sourceDest));
+	}
+	
+	/**
+	 * Answers the specified request for one vertex of a graph.
+	 * 
+	 * @param request - the request, without its line terminator
+	 * 
+	 * @return response - the lines answering the request
+	 * 
+	 * @throws CannotReadGraphFileException - if the requested graph file
+	 *     could not be read
+	 * @throws InvalidEdgeException - if the format of at least one edge, 
+	 *     represented within the requested graph file, is invalid
+	 * @throws InvalidSourceDestException - if the requested vertex is 
+	 *     invalid
+	 * @throws IOException - if an error related to an IO event disrupted the
+	 *     reading of the graph file
+	 */
+	private String answerVertex(String request)
+		throws 
+		CannotReadGraphFileException, 
+		InvalidEdgeException, 
+		InvalidSourceDestException, 
+		IOException
+	{
+		String[] fields = request.split(" ", VERTEX_REQUEST_FIELDS);
+		if (fields.length != VERTEX_REQUEST_FIELDS)
+		{
+			return ERROR_RESPONSE + "Malformed request: " + request;
+		}
+		
+		Graph graph = graphCache.get(fields[VERTEX_GRAPH_FIELD]);
+		int vertexId = graph.parseVertex(fields[VERTEX_FIELD]);
+		
+		return graph.queryPredecessors(vertexId);
+	}
+	
+	/**
+	 * Answers the specified request for a whole graph.
+	 * 
+	 * @param request - the request, without its line terminator
+	 * 
+	 * @return response - the lines answering the request
+	 * 
+	 * @throws CannotReadGraphFileException - if the requested graph file
+	 *     could not be read
+	 * @throws InvalidEdgeException - if the format of at least one edge, 
+	 *     represented within the requested graph file, is invalid
+	 * @throws IOException - if an error related to an IO event disrupted the
+	 *     reading of the graph file
+	 */
+	private String answerGraph(String request)
+		throws CannotReadGraphFileException, InvalidEdgeException, IOException
+	{
+		String[] fields = request.split(" ", GRAPH_REQUEST_FIELDS);
+		if (fields.length != GRAPH_REQUEST_FIELDS)
+		{
+			return ERROR_RESPONSE + "Malformed request: " + request;
+		}
+		
+		Graph graph = graphCache.get(fields[GRAPH_FIELD]);
+		
+		switch (fields[0])
+		{
+			case CLOSURE_REQUEST:
+				return graph.queryTransitiveClosure();
+			case STATS_REQUEST:
+				return graph.queryTraversalCacheMetrics();
+			case SCC_REQUEST:
+				return graph.queryComponents();
+			case PROFILE_REQUEST:
+				return graph.queryProfile();
+			default:
+				return graph.queryCycle();
+		}
+	}
+}
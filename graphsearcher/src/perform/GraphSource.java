@@ -0,0 +1,463 @@
+package perform;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Provides the text of a graph file, which may be gzip-compressed or, if a
+ * pure-Java codec is on the class path, zstd-compressed, and which may be
+ * streamed from standard input rather than read from a path. The format is
+ * recognized by the first bytes of the data rather than by the name.
+ * 
+ * <p>Compressed data is decompressed on a thread of its own, which hands
+ * buffers of decompressed bytes to the reader through a bounded queue, so
+ * decompression overlaps with parsing and no decompressed copy is ever
+ * written. Since the graph is read twice, standard input is spooled once to
+ * a temporary file: as it is if it is compressed, and otherwise compressed
+ * with gzip on the way.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class GraphSource
+{
+	/**
+	 * The graph file path which specifies that the graph is streamed from
+	 * standard input.
+	 */
+	static final String STDIN_PATH = "-";
+	
+	/**
+	 * The bytes which begin gzip data.
+	 */
+	private static final byte[] GZIP_MAGIC = {(byte) 0x1f, (byte) 0x8b};
+	
+	/**
+	 * The bytes which begin a zstd frame.
+	 */
+	private static final byte[] ZSTD_MAGIC =
+		{(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd};
+	
+	/**
+	 * The name of the class of the pure-Java zstd codec which is used if it
+	 * is on the class path.
+	 */
+	private static final String ZSTD_CODEC =
+		"io.airlift.compress.zstd.ZstdInputStream";
+	
+	/**
+	 * The number of bytes of each buffer handed from the decompressing
+	 * thread to the reader.
+	 */
+	private static final int CHUNK_SIZE = 1 << 16;
+	
+	/**
+	 * The number of buffers which the decompressing thread may produce
+	 * ahead of the reader.
+	 */
+	private static final int QUEUE_CAPACITY = 16;
+	
+	/**
+	 * The file from which the graph is read.
+	 */
+	private final File graphFile;
+	
+	/**
+	 * Whether the file is a spool of standard input, which is deleted once
+	 * the graph has been read.
+	 */
+	private final boolean spooled;
+	
+	/**
+	 * Initializes the source of the specified file.
+	 * 
+	 * @param graphFile - the file from which the graph is read
+	 * @param spooled - true if the file is a spool of standard input; false
+	 *     otherwise
+	 */
+	private GraphSource(File graphFile, boolean spooled)
+	{
+		this.graphFile = graphFile;
+		this.spooled = spooled;
+	}
+	
+	/**
+	 * Opens the source of the specified graph file path, spooling standard
+	 * input if the path is STDIN_PATH.
+	 * 
+	 * @param graphFilePath - the path of the graph file, or STDIN_PATH
+	 * 
+	 * @return graphSource - the source of the graph, which must be closed
+	 * 
+	 * @throws IOException - if standard input could not be spooled
+	 */
+	static GraphSource open(String graphFilePath)
+		throws IOException
+	{
+		if (graphFilePath.equals(STDIN_PATH) == false)
+		{
+			return new GraphSource(new File(graphFilePath), false);
+		}
+		
+		File spool = File.createTempFile("graph", ".spool");
+		spool.deleteOnExit();
+		
+		InputStream stdin = new BufferedInputStream(System.in);
+		boolean compressed =
+			(startsWith(stdin, GZIP_MAGIC) == true)
+			|| (startsWith(stdin, ZSTD_MAGIC) == true);
+		OutputStream spoolStream = new FileOutputStream(spool);
+		if (compressed == false)
+		{
+			spoolStream = new FastGzipOutputStream(spoolStream);
+		}
+		try (OutputStream spoolWriter = spoolStream)
+		{
+			byte[] buffer = new byte[CHUNK_SIZE];
+			int length = 0;
+			while ((length = stdin.read(buffer)) != -1)
+			{
+				spoolWriter.write(buffer, 0, length);
+			}
+		}
+		catch (IOException e)
+		{
+			spool.delete();
+			throw e;
+		}
+		
+		return new GraphSource(spool, true);
+	}
+	
+	/**
+	 * Opens a reader of the text of the graph, decompressing it on a thread
+	 * of its own if it is compressed.
+	 * 
+	 * @return graphFileReader - a reader of the lines of the graph
+	 * 
+	 * @throws FileNotFoundException - if the graph file does not exist
+	 * @throws IOException - if the graph file could not be read or is
+	 *     compressed by a codec which is not available
+	 */
+	BufferedReader newReader()
+		throws IOException
+	{
+		InputStream graphStream = new BufferedInputStream(
+			new FileInputStream(graphFile), CHUNK_SIZE);
+		try
+		{
+			if (startsWith(graphStream, GZIP_MAGIC) == true)
+			{
+				graphStream = new QueuedInputStream(
+					new GZIPInputStream(graphStream, CHUNK_SIZE));
+			}
+			else if (startsWith(graphStream, ZSTD_MAGIC) == true)
+			{
+				graphStream = new QueuedInputStream(openZstd(graphStream));
+			}
+		}
+		catch (IOException e)
+		{
+			graphStream.close();
+			throw e;
+		}
+		
+		return new BufferedReader(
+			new InputStreamReader(graphStream, StandardCharsets.UTF_8),
+			CHUNK_SIZE);
+	}
+	
+	/**
+	 * Deletes the spool of standard input, if the graph was streamed.
+	 */
+	void close()
+	{
+		if (spooled == true)
+		{
+			graphFile.delete();
+		}
+	}
+	
+	/**
+	 * Returns whether the specified stream begins with the specified bytes,
+	 * without consuming them.
+	 * 
+	 * @param stream - a stream which supports marks
+	 * @param magic - the bytes
+	 * 
+	 * @return startsWith - true if the stream begins with the bytes; false
+	 *     otherwise
+	 * 
+	 * @throws IOException - if the stream could not be read
+	 */
+	private static boolean startsWith(InputStream stream, byte[] magic)
+		throws IOException
+	{
+		stream.mark(magic.length);
+		try
+		{
+			for (byte magicByte : magic)
+			{
+				if (stream.read() != (magicByte & 0xff))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+		finally
+		{
+			stream.reset();
+		}
+	}
+	
+	/**
+	 * Wraps the specified stream with the pure-Java zstd codec, which is
+	 * loaded by name so that it is needed only for zstd input.
+	 * 
+	 * @param compressedStream - the stream of zstd data
+	 * 
+	 * @return decompressedStream - the stream of decompressed bytes
+	 * 
+	 * @throws IOException - if the codec is not on the class path
+	 */
+	private static InputStream openZstd(InputStream compressedStream)
+		throws IOException
+	{
+		try
+		{
+			return (InputStream) Class.forName(ZSTD_CODEC)
+				.getConstructor(InputStream.class)
+				.newInstance(compressedStream);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IOException(
+				"The graph file is zstd-compressed, but " + ZSTD_CODEC +
+				" is not on the class path.");
+		}
+	}
+	
+	/**
+	 * Compresses with gzip at the fastest level, since a spool is read back
+	 * only twice.
+	 */
+	private static final class FastGzipOutputStream extends GZIPOutputStream
+	{
+		/**
+		 * Initializes the compression of the specified stream.
+		 * 
+		 * @param stream - the stream to which compressed bytes are written
+		 * 
+		 * @throws IOException - if the gzip header could not be written
+		 */
+		FastGzipOutputStream(OutputStream stream)
+			throws IOException
+		{
+			super(stream, CHUNK_SIZE);
+			def.setLevel(Deflater.BEST_SPEED);
+		}
+	}
+	
+	/**
+	 * Reads the bytes of another stream, which a thread of its own reads
+	 * ahead into a bounded queue of buffers.
+	 */
+	private static final class QueuedInputStream extends InputStream
+	{
+		/**
+		 * The buffer which marks the end of the stream.
+		 */
+		private static final byte[] END_OF_STREAM = new byte[0];
+		
+		/**
+		 * The buffers read ahead and not yet read.
+		 */
+		private final BlockingQueue<byte[]> buffers;
+		
+		/**
+		 * The thread which reads ahead.
+		 */
+		private final Thread reader;
+		
+		/**
+		 * The error which ended the reading ahead, whether thrown by the 
+		 * stream or by its codec; null if none did.
+		 */
+		private volatile Throwable error;
+		
+		/**
+		 * The buffer being read; END_OF_STREAM once the stream has ended.
+		 */
+		private byte[] buffer;
+		
+		/**
+		 * The position, within the buffer, of the next byte.
+		 */
+		private int position;
+		
+		/**
+		 * Initializes the stream and begins reading ahead.
+		 * 
+		 * @param stream - the stream which is read ahead
+		 */
+		QueuedInputStream(final InputStream stream)
+		{
+			buffers = new ArrayBlockingQueue<byte[]>(QUEUE_CAPACITY);
+			error = null;
+			buffer = null;
+			position = 0;
+			
+			reader = new Thread(() ->
+			{
+				boolean closed = false;
+				try (InputStream source = stream)
+				{
+					byte[] chunk = new byte[CHUNK_SIZE];
+					int length = 0;
+					while ((length = source.read(chunk)) != -1)
+					{
+						buffers.put(Arrays.copyOf(chunk, length));
+					}
+				}
+				catch (InterruptedException e)
+				{
+					// The stream was closed before it was read to its end.
+					closed = true;
+				}
+				catch (Throwable e)
+				{
+					// A codec may report corrupt data by an unchecked 
+					// exception, which must still end the stream.
+					error = e;
+				}
+				finally
+				{
+					if (closed == false)
+					{
+						try
+						{
+							buffers.put(END_OF_STREAM);
+						}
+						catch (InterruptedException e)
+						{
+							// The stream was closed before it was read to its
+							// end.
+						}
+					}
+				}
+			}, "graph-decompressor");
+			reader.setDaemon(true);
+			reader.start();
+		}
+		
+		/**
+		 * Reads the next byte.
+		 */
+		@Override
+		public int read()
+			throws IOException
+		{
+			if (fill() == false)
+			{
+				return -1;
+			}
+			
+			return buffer[position++] & 0xff;
+		}
+		
+		/**
+		 * Reads up to the specified number of bytes into the specified array.
+		 */
+		@Override
+		public int read(byte[] target, int offset, int length)
+			throws IOException
+		{
+			if (length == 0)
+			{
+				return 0;
+			}
+			if (fill() == false)
+			{
+				return -1;
+			}
+			
+			int count = Math.min(length, buffer.length - position);
+			System.arraycopy(buffer, position, target, offset, count);
+			position += count;
+			
+			return count;
+		}
+		
+		/**
+		 * Stops reading ahead.
+		 */
+		@Override
+		public void close()
+		{
+			reader.interrupt();
+		}
+		
+		/**
+		 * Takes the next buffer from the queue if the current one has been
+		 * read.
+		 * 
+		 * @return available - true if a byte remains to be read; false if the
+		 *     stream has ended
+		 * 
+		 * @throws IOException - if the stream which is read ahead failed, 
+		 *     wrapping any error other than an IOException
+		 */
+		private boolean fill()
+			throws IOException
+		{
+			while ((buffer == null)
+				|| ((buffer != END_OF_STREAM) && (position == buffer.length)))
+			{
+				try
+				{
+					buffer = buffers.take();
+					position = 0;
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					throw new IOException(
+						"The graph file was not read to its end.");
+				}
+			}
+			
+			if (buffer == END_OF_STREAM)
+			{
+				if (error instanceof IOException)
+				{
+					throw (IOException) error;
+				}
+				if (error != null)
+				{
+					throw new IOException(
+						"The graph file could not be decompressed: " + error, 
+						error);
+				}
+				return false;
+			}
+			
+			return true;
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package perform;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of vertex IDs keyed by double priorities. The position
+ * of every vertex within the heap is tracked so that the priority of a
+ * vertex already in the heap can be decreased in logarithmic time. All
+ * storage is in primitive arrays sized to the number of vertices.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class IndexedMinHeap
+{
+	/**
+	 * The position of a vertex which is not in the heap.
+	 */
+	private static final int ABSENT = -1;
+	
+	/**
+	 * The vertex IDs in heap order.
+	 */
+	private final int[] heap;
+	
+	/**
+	 * The position, within the heap, of each vertex; ABSENT if the vertex is
+	 * not in the heap.
+	 */
+	private final int[] positions;
+	
+	/**
+	 * The priority of each vertex, indexed by vertex ID.
+	 */
+	private final double[] priorities;
+	
+	/**
+	 * The number of vertices in the heap.
+	 */
+	private int size;
+	
+	/**
+	 * Initializes an empty heap which can hold every vertex of a graph with
+	 * the specified number of vertices.
+	 * 
+	 * @param numOfVertices - the number of vertices of the graph
+	 */
+	IndexedMinHeap(int numOfVertices)
+	{
+		heap = new int[numOfVertices];
+		positions = new int[numOfVertices];
+		priorities = new double[numOfVertices];
+		Arrays.fill(positions, ABSENT);
+		size = 0;
+	}
+	
+	/**
+	 * Returns whether the heap holds no vertices.
+	 * 
+	 * @return isEmpty - true if the heap holds no vertices; false otherwise
+	 */
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	/**
+	 * Inserts the specified vertex with the specified priority or, if the
+	 * vertex is already in the heap with a greater priority, decreases its
+	 * priority.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * @param priority - the priority of the vertex
+	 */
+	void insertOrDecrease(int vertexId, double priority)
+	{
+		int position = positions[vertexId];
+		if (position == ABSENT)
+		{
+			position = size++;
+			heap[position] = vertexId;
+			positions[vertexId] = position;
+		}
+		else if (priority >= priorities[vertexId])
+		{
+			return;
+		}
+		
+		priorities[vertexId] = priority;
+		siftUp(position);
+	}
+	
+	/**
+	 * Removes and returns the vertex of least priority.
+	 * 
+	 * @return vertexId - the ID of the vertex of least priority
+	 */
+	int extractMin()
+	{
+		int minVertexId = heap[0];
+		positions[minVertexId] = ABSENT;
+		
+		--size;
+		if (size > 0)
+		{
+			heap[0] = heap[size];
+			positions[heap[0]] = 0;
+			siftDown(0);
+		}
+		
+		return minVertexId;
+	}
+	
+	/**
+	 * Moves the vertex at the specified position toward the root until its
+	 * parent's priority is not greater than its own.
+	 * 
+	 * @param position - the position of the vertex within the heap
+	 */
+	private void siftUp(int position)
+	{
+		int vertexId = heap[position];
+		double priority = priorities[vertexId];
+		
+		while (position > 0)
+		{
+			int parentPosition = (position - 1) >>> 1;
+			int parentId = heap[parentPosition];
+			if (priorities[parentId] <= priority)
+			{
+				break;
+			}
+			
+			heap[position] = parentId;
+			positions[parentId] = position;
+			position = parentPosition;
+		}
+		
+		heap[position] = vertexId;
+		positions[vertexId] = position;
+	}
+	
+	/**
+	 * Moves the vertex at the specified position toward the leaves until
+	 * neither child's priority is less than its own.
+	 * 
+	 * @param position - the position of the vertex within the heap
+	 */
+	private void siftDown(int position)
+	{
+		int vertexId = heap[position];
+		double priority = priorities[vertexId];
+		
+		int childPosition = 0;
+		while ((childPosition = (position << 1) + 1) < size)
+		{
+			if ((childPosition + 1 < size)
+				&& (priorities[heap[childPosition + 1]]
+				< priorities[heap[childPosition]]))
+			{
+				++childPosition;
+			}
+			
+			int childId = heap[childPosition];
+			if (priorities[childId] >= priority)
+			{
+				break;
+			}
+			
+			heap[position] = childId;
+			positions[childId] = position;
+			position = childPosition;
+		}
+		
+		heap[position] = vertexId;
+		positions[vertexId] = position;
+	}
+}
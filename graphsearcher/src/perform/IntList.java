@@ -0,0 +1,77 @@
+package perform;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints which does not box its elements.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class IntList
+{
+	/**
+	 * The elements of the list, followed by unused capacity.
+	 */
+	private int[] elements;
+	
+	/**
+	 * The number of elements in the list.
+	 */
+	private int size;
+	
+	/**
+	 * Initializes an empty list.
+	 */
+	IntList()
+	{
+		elements = new int[8];
+		size = 0;
+	}
+	
+	/**
+	 * Appends the specified element.
+	 * 
+	 * @param element - the element to append
+	 */
+	void add(int element)
+	{
+		if (size == elements.length)
+		{
+			elements = Arrays.copyOf(elements, size << 1);
+		}
+		elements[size++] = element;
+	}
+	
+	/**
+	 * Returns the element at the specified index.
+	 * 
+	 * @param index - the index of the element
+	 * 
+	 * @return element - the element at the index
+	 */
+	int get(int index)
+	{
+		return elements[index];
+	}
+	
+	/**
+	 * Returns the number of elements in the list.
+	 * 
+	 * @return size - the number of elements in the list
+	 */
+	int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Returns the elements of the list in an array of exactly their number.
+	 * 
+	 * @return elements - the elements of the list
+	 */
+	int[] toArray()
+	{
+		return Arrays.copyOf(elements, size);
+	}
+}
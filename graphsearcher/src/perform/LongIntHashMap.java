@@ -0,0 +1,266 @@
+package perform;
+
+/**
+ * Maps long keys to int values without boxing either. Entries are stored in
+ * parallel primitive arrays and collisions are resolved by linear probing.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class LongIntHashMap
+{
+	/**
+	 * The capacity of a map for which no expected size was specified.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/**
+	 * The greatest fraction of slots which may be occupied before the map
+	 * grows.
+	 */
+	private static final double MAX_LOAD_FACTOR = 0.5;
+	
+	/**
+	 * The number of bytes of each slot: a key, a value, and whether the slot
+	 * is occupied.
+	 */
+	private static final int BYTES_PER_SLOT = Long.BYTES + Integer.BYTES + 1;
+	
+	/**
+	 * The keys of the map, indexed by slot.
+	 */
+	private long[] keys;
+	
+	/**
+	 * The values of the map, indexed by slot.
+	 */
+	private int[] values;
+	
+	/**
+	 * Whether each slot holds an entry.
+	 */
+	private boolean[] occupied;
+	
+	/**
+	 * The number of entries in the map.
+	 */
+	private int size;
+	
+	/**
+	 * Initializes an empty map with the default capacity.
+	 */
+	LongIntHashMap()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Initializes an empty map which can hold the specified number of
+	 * entries without growing.
+	 * 
+	 * @param expectedSize - the number of entries the map is expected to hold
+	 */
+	LongIntHashMap(int expectedSize)
+	{
+		int capacity = DEFAULT_CAPACITY;
+		while (capacity * MAX_LOAD_FACTOR < expectedSize)
+		{
+			capacity <<= 1;
+		}
+		
+		allocate(capacity);
+	}
+	
+	/**
+	 * Returns the number of entries in the map.
+	 * 
+	 * @return size - the number of entries in the map
+	 */
+	int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Returns the approximate number of bytes which the slots of the map 
+	 * occupy.
+	 * 
+	 * @return sizeInBytes - the number of bytes of the arrays of the map
+	 */
+	long sizeInBytes()
+	{
+		return (long) keys.length * BYTES_PER_SLOT;
+	}
+	
+	/**
+	 * Returns the least number of bytes which the slots of a map of the 
+	 * specified number of entries occupy.
+	 * 
+	 * @param size - the number of entries of the map
+	 * 
+	 * @return minSizeInBytes - the number of bytes of the fewest slots which
+	 *     hold the entries
+	 */
+	static long minSizeInBytes(int size)
+	{
+		return (long) Math.ceil(size / MAX_LOAD_FACTOR) * BYTES_PER_SLOT;
+	}
+	
+	/**
+	 * Returns the value mapped to the specified key.
+	 * 
+	 * @param key - the key whose value is returned
+	 * @param missingValue - the value returned if the key is not mapped
+	 * 
+	 * @return value - the value mapped to the key; missingValue if the key is
+	 *     not mapped
+	 */
+	int get(long key, int missingValue)
+	{
+		int slot = findSlot(key);
+		if (occupied[slot] == false)
+		{
+			return missingValue;
+		}
+		
+		return values[slot];
+	}
+	
+	/**
+	 * Maps the specified key to the specified value, replacing any value
+	 * already mapped to the key.
+	 * 
+	 * @param key - the key to map
+	 * @param value - the value mapped to the key
+	 */
+	void put(long key, int value)
+	{
+		int slot = findSlot(key);
+		if (occupied[slot] == false)
+		{
+			insert(slot, key, value);
+			return;
+		}
+		
+		values[slot] = value;
+	}
+	
+	/**
+	 * Maps the specified key to the specified value unless the key is already
+	 * mapped.
+	 * 
+	 * @param key - the key to map
+	 * @param value - the value mapped to the key if it is not already mapped
+	 * 
+	 * @return mappedValue - the value already mapped to the key; value if the
+	 *     key was not already mapped
+	 */
+	int putIfAbsent(long key, int value)
+	{
+		int slot = findSlot(key);
+		if (occupied[slot] == false)
+		{
+			insert(slot, key, value);
+			return value;
+		}
+		
+		return values[slot];
+	}
+	
+	/**
+	 * Stores a new entry in the specified empty slot and grows the map if it
+	 * has become too full.
+	 * 
+	 * @param slot - the empty slot in which the entry is stored
+	 * @param key - the key of the entry
+	 * @param value - the value of the entry
+	 */
+	private void insert(int slot, long key, int value)
+	{
+		keys[slot] = key;
+		values[slot] = value;
+		occupied[slot] = true;
+		++size;
+		
+		if (size > keys.length * MAX_LOAD_FACTOR)
+		{
+			grow();
+		}
+	}
+	
+	/**
+	 * Returns the slot which holds the specified key or, if the key is not
+	 * mapped, the empty slot in which it would be stored.
+	 * 
+	 * @param key - the key to find
+	 * 
+	 * @return slot - the slot of the key
+	 */
+	private int findSlot(long key)
+	{
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while ((occupied[slot] == true) && (keys[slot] != key))
+		{
+			slot = (slot + 1) & mask;
+		}
+		
+		return slot;
+	}
+	
+	/**
+	 * Doubles the capacity of the map and stores every entry again.
+	 */
+	private void grow()
+	{
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldOccupied = occupied;
+		
+		allocate(keys.length << 1);
+		
+		for (int slot = 0; slot < oldKeys.length; ++slot)
+		{
+			if (oldOccupied[slot] == true)
+			{
+				int newSlot = findSlot(oldKeys[slot]);
+				keys[newSlot] = oldKeys[slot];
+				values[newSlot] = oldValues[slot];
+				occupied[newSlot] = true;
+				++size;
+			}
+		}
+	}
+	
+	/**
+	 * Replaces the slots of the map with the specified number of empty slots.
+	 * 
+	 * @param capacity - the number of slots, which must be a power of two
+	 */
+	private void allocate(int capacity)
+	{
+		keys = new long[capacity];
+		values = new int[capacity];
+		occupied = new boolean[capacity];
+		size = 0;
+	}
+	
+	/**
+	 * Scrambles the bits of the specified key so that keys which differ only
+	 * in their high bits are spread across the slots.
+	 * 
+	 * @param key - the key to hash
+	 * 
+	 * @return hash - the scrambled key
+	 */
+	private static int hash(long key)
+	{
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		
+		return (int) key;
+	}
+}
@@ -0,0 +1,42 @@
+package perform;
+
+/**
+ * Models the encodings in which the results of a single graph file may be 
+ * written to the console.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+enum OutputFormat
+{
+	/**
+	 * Human-readable lines of text.
+	 */
+	TEXT,
+	
+	/**
+	 * Length-prefixed little-endian records, as written by BinaryStatsWriter.
+	 */
+	BINARY;
+	
+	// Methods
+	/**
+	 * Returns the format whose name matches the specified name, ignoring case.
+	 * 
+	 * @param name - the name of the format
+	 * 
+	 * @return outputFormat - the matching format; null if no format matches
+	 */
+	static OutputFormat fromName(String name)
+	{
+		for (OutputFormat outputFormat : values())
+		{
+			if (outputFormat.name().equalsIgnoreCase(name) == true)
+			{
+				return outputFormat;
+			}
+		}
+		
+		return null;
+	}
+}
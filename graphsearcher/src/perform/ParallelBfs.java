@@ -0,0 +1,313 @@
+package perform;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Performs a level-synchronous breadth-first search of a directed graph in 
+ * parallel, determining the paths of fewest edges from a source vertex.
+ * 
+ * <p>The frontier of each level is split into chunks which the worker 
+ * threads expand concurrently. A vertex is claimed by setting its bit in a 
+ * visited bitset of atomic longs by compare-and-set, so exactly one thread
+ * records its parent and adds it to the next frontier. Each chunk gathers
+ * the vertices it claims in a buffer of its own, and the buffers are 
+ * concatenated into the next frontier once the level is complete, so no 
+ * lock is ever taken.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class ParallelBfs
+{
+	/**
+	 * The parent of a vertex which was not reached, or of the source vertex.
+	 */
+	static final int NO_PARENT = -1;
+	
+	/**
+	 * The destination of a search which continues until every reachable 
+	 * vertex has been reached.
+	 */
+	static final int NO_DESTINATION = -1;
+	
+	/**
+	 * The number of frontier chunks handed to each worker thread, so that a 
+	 * thread whose chunk held few adjacencies takes another chunk rather than
+	 * waiting for the thread whose chunk held a hub.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+	
+	/**
+	 * The size of frontier below which a level is expanded by the calling 
+	 * thread alone, as dividing it would cost more than it saves.
+	 */
+	private static final int SEQUENTIAL_FRONTIER_SIZE = 1024;
+	
+	/**
+	 * The number of bits of each word of the visited bitset.
+	 */
+	private static final int BITS_PER_WORD = 64;
+	
+	/**
+	 * The number of bits by which a vertex ID is shifted to give the index of
+	 * its word within the visited bitset.
+	 */
+	private static final int WORD_SHIFT = 6;
+	
+	/**
+	 * The vertices which exist in the graph with respect to their adjacent 
+	 * vertices.
+	 */
+	private final Adjacency adjacency;
+	
+	/**
+	 * The vertex from which each vertex was reached by the latest search; 
+	 * NO_PARENT if it was not reached or is the source vertex.
+	 */
+	private int[] parents;
+	
+	/**
+	 * The bits of the vertices reached by the latest search.
+	 */
+	private AtomicLongArray visited;
+	
+	/**
+	 * The number of edges from the source vertex of the latest search to the
+	 * vertices of its deepest level.
+	 */
+	private int depth;
+	
+	/**
+	 * The IDs of the vertices reached in the deepest level of the latest 
+	 * search.
+	 */
+	private int[] deepestLevel;
+	
+	/**
+	 * Initializes the search of the specified graph.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect 
+	 *     to their adjacent vertices
+	 */
+	ParallelBfs(Adjacency adjacency)
+	{
+		this.adjacency = adjacency;
+		
+		parents = null;
+		visited = null;
+		depth = 0;
+		deepestLevel = null;
+	}
+	
+	/**
+	 * Searches the graph from the specified source vertex, level by level, 
+	 * until the level in which the specified destination vertex is reached
+	 * or until no vertex remains to be reached.
+	 * 
+	 * @param sourceVertexId - the ID of the vertex from which to search
+	 * @param destVertexId - the ID of the vertex at which to stop; 
+	 *     NO_DESTINATION to reach every reachable vertex
+	 */
+	void search(int sourceVertexId, final int destVertexId)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		parents = new int[numOfVertices];
+		Arrays.fill(parents, NO_PARENT);
+		visited = new AtomicLongArray(
+			(numOfVertices + BITS_PER_WORD - 1) >>> WORD_SHIFT);
+		
+		claim(sourceVertexId);
+		int[] frontier = {sourceVertexId};
+		depth = 0;
+		deepestLevel = frontier;
+		
+		while ((frontier.length > 0) 
+			&& ((destVertexId == NO_DESTINATION) 
+			|| (isVisited(destVertexId) == false)))
+		{
+			frontier = expand(frontier);
+			if (frontier.length > 0)
+			{
+				++depth;
+				deepestLevel = frontier;
+			}
+		}
+	}
+	
+	/**
+	 * Returns whether the latest search reached the specified vertex.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return reached - true if the vertex was reached; false otherwise
+	 */
+	boolean isVisited(int vertexId)
+	{
+		return (visited.get(vertexId >>> WORD_SHIFT) & (1L << vertexId)) != 0;
+	}
+	
+	/**
+	 * Returns the number of edges from the source vertex of the latest search
+	 * to the vertices of the deepest level it reached.
+	 * 
+	 * @return depth - the number of levels reached beyond the source vertex
+	 */
+	int getDepth()
+	{
+		return depth;
+	}
+	
+	/**
+	 * Returns a vertex of the deepest level reached by the latest search. 
+	 * The vertex of least ID is returned, since the order in which the 
+	 * vertices of a level are claimed varies between searches.
+	 * 
+	 * @return farthestVertexId - the least ID among the vertices of the 
+	 *     deepest level
+	 */
+	int getFarthestVertex()
+	{
+		int farthestVertexId = deepestLevel[0];
+		for (int vertexId : deepestLevel)
+		{
+			farthestVertexId = Math.min(farthestVertexId, vertexId);
+		}
+		
+		return farthestVertexId;
+	}
+	
+	/**
+	 * Returns the path of fewest edges from the source vertex of the latest 
+	 * search to the specified destination vertex.
+	 * 
+	 * @param destVertexId - the ID of the destination vertex
+	 * 
+	 * @return path - the IDs of the vertices along the path, beginning with 
+	 *     the source vertex and ending with the destination vertex; null if 
+	 *     the destination vertex was not reached
+	 */
+	int[] getPath(int destVertexId)
+	{
+		if (isVisited(destVertexId) == false)
+		{
+			return null;
+		}
+		
+		int length = 1;
+		for (int vertexId = destVertexId; parents[vertexId] != NO_PARENT; )
+		{
+			vertexId = parents[vertexId];
+			++length;
+		}
+		
+		int[] path = new int[length];
+		int vertexId = destVertexId;
+		for (int n = length - 1; n >= 0; --n)
+		{
+			path[n] = vertexId;
+			vertexId = parents[vertexId];
+		}
+		
+		return path;
+	}
+	
+	/**
+	 * Sets the bit of the specified vertex in the visited bitset unless 
+	 * another thread has already set it.
+	 * 
+	 * @param vertexId - the ID of the vertex to claim
+	 * 
+	 * @return claimed - true if this call set the bit; false if it was 
+	 *     already set
+	 */
+	private boolean claim(int vertexId)
+	{
+		int wordIndex = vertexId >>> WORD_SHIFT;
+		long bit = 1L << vertexId;
+		
+		long word = visited.get(wordIndex);
+		while ((word & bit) == 0)
+		{
+			if (visited.compareAndSet(wordIndex, word, word | bit) == true)
+			{
+				return true;
+			}
+			word = visited.get(wordIndex);
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Reaches every unreached vertex adjacent to the specified frontier, 
+	 * splitting the frontier among the worker threads if it is large.
+	 * 
+	 * @param frontier - the IDs of the vertices reached in the latest level
+	 * 
+	 * @return nextFrontier - the IDs of the vertices reached in this level
+	 */
+	private int[] expand(final int[] frontier)
+	{
+		int numOfChunks = 1;
+		if (frontier.length >= SEQUENTIAL_FRONTIER_SIZE)
+		{
+			int numOfThreads = Runtime.getRuntime().availableProcessors();
+			numOfChunks = Math.min(
+				frontier.length, numOfThreads * CHUNKS_PER_THREAD);
+		}
+		final int chunkSize = (frontier.length + numOfChunks - 1) / numOfChunks;
+		
+		final IntList[] claimed = new IntList[numOfChunks];
+		IntStream chunks = IntStream.range(0, numOfChunks);
+		if (numOfChunks > 1)
+		{
+			chunks = chunks.parallel();
+		}
+		chunks.forEach(chunk ->
+		{
+			IntList chunkClaimed = new IntList();
+			
+			int end = Math.min(frontier.length, (chunk + 1) * chunkSize);
+			for (int n = chunk * chunkSize; n < end; ++n)
+			{
+				int fromVertexId = frontier[n];
+				
+				PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+				while (adjs.hasNext() == true)
+				{
+					int toVertexId = adjs.nextInt();
+					if ((isVisited(toVertexId) == false) 
+						&& (claim(toVertexId) == true))
+					{
+						parents[toVertexId] = fromVertexId;
+						chunkClaimed.add(toVertexId);
+					}
+				}
+			}
+			
+			claimed[chunk] = chunkClaimed;
+		});
+		
+		int nextFrontierSize = 0;
+		for (IntList chunkClaimed : claimed)
+		{
+			nextFrontierSize += chunkClaimed.size();
+		}
+		
+		int[] nextFrontier = new int[nextFrontierSize];
+		int position = 0;
+		for (IntList chunkClaimed : claimed)
+		{
+			for (int n = 0; n < chunkClaimed.size(); ++n)
+			{
+				nextFrontier[position++] = chunkClaimed.get(n);
+			}
+		}
+		
+		return nextFrontier;
+	}
+}
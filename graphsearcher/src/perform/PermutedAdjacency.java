@@ -0,0 +1,112 @@
+package perform;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Provides access to the adjacencies of a relabeled graph under its IDs
+ * before relabeling, without copying them. The rows of the relabeled graph
+ * are looked up and their adjacent vertices translated back as they are
+ * iterated, so a structure indexed by the IDs before relabeling, such as a
+ * transitive closure matrix, is filled and read in the order of those IDs.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class PermutedAdjacency implements Adjacency
+{
+	/**
+	 * The adjacencies of the relabeled graph.
+	 */
+	private final Adjacency adjacency;
+	
+	/**
+	 * The ID, within the relabeled graph, of each vertex, indexed by its ID
+	 * before relabeling.
+	 */
+	private final int[] internalIds;
+	
+	/**
+	 * The ID, before relabeling, of each vertex, indexed by its ID within
+	 * the relabeled graph.
+	 */
+	private final int[] originalIds;
+	
+	/**
+	 * Initializes access to the specified relabeled adjacencies.
+	 * 
+	 * @param adjacency - the adjacencies of the relabeled graph
+	 * @param internalIds - the ID, within the relabeled graph, of each
+	 *     vertex, indexed by its ID before relabeling
+	 * @param originalIds - the ID, before relabeling, of each vertex, indexed
+	 *     by its ID within the relabeled graph
+	 */
+	PermutedAdjacency(Adjacency adjacency, int[] internalIds, int[] originalIds)
+	{
+		this.adjacency = adjacency;
+		this.internalIds = internalIds;
+		this.originalIds = originalIds;
+	}
+	
+	/**
+	 * Returns the number of vertices of the graph.
+	 */
+	@Override
+	public int numOfVertices()
+	{
+		return adjacency.numOfVertices();
+	}
+	
+	/**
+	 * Returns the number of adjacencies of the graph.
+	 */
+	@Override
+	public long numOfEdges()
+	{
+		return adjacency.numOfEdges();
+	}
+	
+	/**
+	 * Returns the number of vertices adjacent to the specified vertex.
+	 */
+	@Override
+	public int degree(int vertexId)
+	{
+		return adjacency.degree(internalIds[vertexId]);
+	}
+	
+	/**
+	 * Returns the position of the first adjacency of the specified vertex
+	 * within the relabeled graph.
+	 */
+	@Override
+	public int edgeOffset(int vertexId)
+	{
+		return adjacency.edgeOffset(internalIds[vertexId]);
+	}
+	
+	/**
+	 * Returns an iterator over the adjacent vertices of the specified vertex,
+	 * translated back to their IDs before relabeling.
+	 */
+	@Override
+	public PrimitiveIterator.OfInt neighbors(int vertexId)
+	{
+		final PrimitiveIterator.OfInt adjs =
+			adjacency.neighbors(internalIds[vertexId]);
+		
+		return new PrimitiveIterator.OfInt()
+		{
+			@Override
+			public boolean hasNext()
+			{
+				return adjs.hasNext();
+			}
+			
+			@Override
+			public int nextInt()
+			{
+				return originalIds[adjs.nextInt()];
+			}
+		};
+	}
+}
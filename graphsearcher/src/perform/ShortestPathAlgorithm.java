@@ -0,0 +1,58 @@
+package perform;
+
+/**
+ * Models the algorithms by which the shortest weighted path from the source
+ * vertex to the destination vertex may be determined.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+enum ShortestPathAlgorithm
+{
+	/**
+	 * No shortest path is determined.
+	 */
+	NONE,
+	
+	/**
+	 * The algorithm is chosen from the profile of the graph: parallel 
+	 * delta-stepping for large graphs of small diameter and Dijkstra's 
+	 * algorithm otherwise.
+	 */
+	AUTO,
+	
+	/**
+	 * Dijkstra's algorithm over an indexed binary heap, which stops once the
+	 * destination vertex is settled.
+	 */
+	DIJKSTRA,
+	
+	/**
+	 * Parallel delta-stepping, which relaxes the edges of every vertex within
+	 * a distance bucket concurrently.
+	 */
+	DELTA;
+	
+	// Methods
+	/**
+	 * Returns the algorithm whose name matches the specified name, ignoring
+	 * case.
+	 * 
+	 * @param name - the name of the algorithm
+	 * 
+	 * @return algorithm - the matching algorithm; null if no algorithm
+	 *     matches
+	 */
+	static ShortestPathAlgorithm fromName(String name)
+	{
+		for (ShortestPathAlgorithm algorithm : values())
+		{
+			if (algorithm.name().equalsIgnoreCase(name) == true)
+			{
+				return algorithm;
+			}
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,513 @@
+package perform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Determines the shortest weighted paths from a source vertex of a directed
+ * graph whose edge weights are not negative. Edges without weights are
+ * treated as having a weight of 1.
+ * 
+ * <p>Dijkstra's algorithm is performed over an indexed binary heap. For large
+ * graphs, delta-stepping partitions the tentative distances into buckets of
+ * width delta and relaxes the edges of every vertex within the current bucket
+ * in parallel. Distances are then stored as the bits of non-negative doubles
+ * in an atomic array, whose ordering as longs matches their ordering as
+ * doubles, and are lowered by compare-and-set.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class ShortestPathEngine
+{
+	/**
+	 * The distance of a vertex which is not reachable from the source vertex.
+	 */
+	static final double UNREACHABLE = Double.POSITIVE_INFINITY;
+	
+	/**
+	 * The predecessor of a vertex which has none.
+	 */
+	private static final int NO_PREDECESSOR = -1;
+	
+	/**
+	 * The weight of an edge for which no weight was specified.
+	 */
+	private static final double DEFAULT_WEIGHT = 1.0;
+	
+	/**
+	 * The number of frontier chunks handed to each worker thread, so that
+	 * a thread which finishes its chunk early takes over the relaxations of
+	 * another.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+	
+	/**
+	 * The vertices which exist in the graph with respect to their adjacent 
+	 * vertices.
+	 */
+	private final Adjacency adjacency;
+	
+	/**
+	 * The weight of each adjacency, at the edge offset of its vertex plus its
+	 * index within the vertex's list; null if every edge has the default 
+	 * weight.
+	 */
+	private final double[] adjWeights;
+	
+	/**
+	 * The distance of each vertex from the source vertex of the latest
+	 * search.
+	 */
+	private double[] distances;
+	
+	/**
+	 * The vertex preceding each vertex on a shortest path from the source
+	 * vertex of the latest search.
+	 */
+	private int[] predecessors;
+	
+	/**
+	 * Initializes the engine for the specified graph.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect 
+	 *     to their adjacent vertices
+	 * @param adjWeights - the weight of each adjacency, at the edge offset of
+	 *     its vertex plus its index within the vertex's list; null if every
+	 *     edge has the default weight
+	 */
+	ShortestPathEngine(
+		Adjacency adjacency, double[] adjWeights)
+	{
+		this.adjacency = adjacency;
+		this.adjWeights = adjWeights;
+		
+		distances = null;
+		predecessors = null;
+	}
+	
+	/**
+	 * Determines the shortest paths from the specified source vertex with the
+	 * specified algorithm.
+	 * 
+	 * @param algorithm - the algorithm by which the shortest paths are
+	 *     determined, DIJKSTRA or DELTA; AUTO is resolved beforehand by the
+	 *     profile of the graph
+	 * @param sourceVertexId - the ID of the source vertex
+	 * @param destVertexId - the ID of the destination vertex, at which
+	 *     Dijkstra's algorithm may stop early
+	 */
+	void search(
+		ShortestPathAlgorithm algorithm, int sourceVertexId, int destVertexId)
+	{
+		if (algorithm == ShortestPathAlgorithm.DELTA)
+		{
+			deltaStepping(sourceVertexId, defaultDelta());
+		}
+		else
+		{
+			dijkstra(sourceVertexId, destVertexId);
+		}
+	}
+	
+	/**
+	 * Determines the shortest paths from the specified source vertex by
+	 * Dijkstra's algorithm. The search stops once the specified destination
+	 * vertex is settled.
+	 * 
+	 * @param sourceVertexId - the ID of the source vertex
+	 * @param destVertexId - the ID of the destination vertex; -1 to settle
+	 *     every reachable vertex
+	 */
+	void dijkstra(int sourceVertexId, int destVertexId)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		resetSearch(numOfVertices);
+		distances[sourceVertexId] = 0.0;
+		
+		boolean[] settled = new boolean[numOfVertices];
+		IndexedMinHeap unsettled = new IndexedMinHeap(numOfVertices);
+		unsettled.insertOrDecrease(sourceVertexId, 0.0);
+		
+		while (unsettled.isEmpty() == false)
+		{
+			int examinedVertexId = unsettled.extractMin();
+			settled[examinedVertexId] = true;
+			if (examinedVertexId == destVertexId)
+			{
+				return;
+			}
+			
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(examinedVertexId);
+			double examinedDistance = distances[examinedVertexId];
+			for (int n = 0; adjs.hasNext() == true; ++n)
+			{
+				int adjVertexId = adjs.nextInt();
+				if (settled[adjVertexId] == true)
+				{
+					continue;
+				}
+				
+				double distance = examinedDistance + weight(examinedVertexId, n);
+				if (distance < distances[adjVertexId])
+				{
+					distances[adjVertexId] = distance;
+					predecessors[adjVertexId] = examinedVertexId;
+					unsettled.insertOrDecrease(adjVertexId, distance);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Determines the shortest paths from the specified source vertex by
+	 * parallel delta-stepping. The vertices of the current bucket are
+	 * relaxed along their light edges, whose weights do not exceed delta,
+	 * until the bucket stays empty, and then along their heavy edges once.
+	 * 
+	 * @param sourceVertexId - the ID of the source vertex
+	 * @param delta - the width of each distance bucket
+	 */
+	void deltaStepping(int sourceVertexId, final double delta)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		final AtomicLongArray distanceBits = new AtomicLongArray(numOfVertices);
+		long unreachableBits = Double.doubleToLongBits(UNREACHABLE);
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			distanceBits.set(vertexId, unreachableBits);
+		}
+		distanceBits.set(sourceVertexId, Double.doubleToLongBits(0.0));
+		
+		ArrayList<IntList> buckets = new ArrayList<IntList>();
+		addToBucket(buckets, 0, sourceVertexId);
+		
+		// The latest pass in which each vertex was examined and the latest
+		// bucket from which each vertex was removed, so that duplicate
+		// entries of a vertex are skipped.
+		int[] examinedInPass = new int[numOfVertices];
+		Arrays.fill(examinedInPass, -1);
+		int[] removedFromBucket = new int[numOfVertices];
+		Arrays.fill(removedFromBucket, -1);
+		int pass = 0;
+		
+		for (int bucket = 0; bucket < buckets.size(); ++bucket)
+		{
+			IntList removed = new IntList();
+			
+			while (buckets.get(bucket).size() > 0)
+			{
+				IntList candidates = buckets.get(bucket);
+				buckets.set(bucket, new IntList());
+				
+				IntList frontier = new IntList();
+				for (int n = 0; n < candidates.size(); ++n)
+				{
+					int vertexId = candidates.get(n);
+					double distance =
+						Double.longBitsToDouble(distanceBits.get(vertexId));
+					if (((int) (distance / delta) == bucket)
+						&& (examinedInPass[vertexId] != pass))
+					{
+						examinedInPass[vertexId] = pass;
+						frontier.add(vertexId);
+						
+						if (removedFromBucket[vertexId] != bucket)
+						{
+							removedFromBucket[vertexId] = bucket;
+							removed.add(vertexId);
+						}
+					}
+				}
+				++pass;
+				
+				IntList[] improved =
+					relaxInParallel(frontier, distanceBits, delta, true);
+				scatterIntoBuckets(buckets, improved, distanceBits, delta);
+			}
+			
+			IntList[] improved =
+				relaxInParallel(removed, distanceBits, delta, false);
+			scatterIntoBuckets(buckets, improved, distanceBits, delta);
+		}
+		
+		resetSearch(numOfVertices);
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			distances[vertexId] =
+				Double.longBitsToDouble(distanceBits.get(vertexId));
+		}
+		gatherPredecessors(sourceVertexId);
+	}
+	
+	/**
+	 * Returns the distance of the specified vertex from the source vertex of
+	 * the latest search.
+	 * 
+	 * @param vertexId - the ID of the vertex
+	 * 
+	 * @return distance - the length of the shortest path to the vertex;
+	 *     UNREACHABLE if no path exists
+	 */
+	double getDistance(int vertexId)
+	{
+		return distances[vertexId];
+	}
+	
+	/**
+	 * Returns the shortest path from the source vertex of the latest search
+	 * to the specified vertex.
+	 * 
+	 * @param destVertexId - the ID of the destination vertex
+	 * 
+	 * @return path - the IDs of the vertices of the path, from the source
+	 *     vertex to the destination vertex; null if no path exists
+	 */
+	int[] getPath(int destVertexId)
+	{
+		if (distances[destVertexId] == UNREACHABLE)
+		{
+			return null;
+		}
+		
+		int length = 1;
+		for (
+			int vertexId = destVertexId;
+			predecessors[vertexId] != NO_PREDECESSOR;
+			vertexId = predecessors[vertexId])
+		{
+			++length;
+		}
+		
+		int[] path = new int[length];
+		for (
+			int vertexId = destVertexId;
+			vertexId != NO_PREDECESSOR;
+			vertexId = predecessors[vertexId])
+		{
+			path[--length] = vertexId;
+		}
+		
+		return path;
+	}
+	
+	/**
+	 * Returns the weight of the specified adjacency.
+	 * 
+	 * @param fromVertexId - the ID of the vertex from which the adjacency
+	 *     leaves
+	 * @param adjIndex - the index of the adjacency within the vertex's list
+	 *     of adjacent vertices
+	 * 
+	 * @return weight - the weight of the adjacency
+	 */
+	private double weight(int fromVertexId, int adjIndex)
+	{
+		if (adjWeights == null)
+		{
+			return DEFAULT_WEIGHT;
+		}
+		
+		return adjWeights[adjacency.edgeOffset(fromVertexId) + adjIndex];
+	}
+	
+	/**
+	 * Returns the mean edge weight, which is used as the bucket width of
+	 * delta-stepping.
+	 * 
+	 * @return delta - the mean edge weight; the default weight if the graph
+	 *     has no edges of positive weight
+	 */
+	private double defaultDelta()
+	{
+		if (adjWeights == null)
+		{
+			return DEFAULT_WEIGHT;
+		}
+		
+		double totalWeight = 0.0;
+		for (double weight : adjWeights)
+		{
+			totalWeight += weight;
+		}
+		
+		if (totalWeight <= 0.0)
+		{
+			return DEFAULT_WEIGHT;
+		}
+		
+		return totalWeight / adjWeights.length;
+	}
+	
+	/**
+	 * Relaxes, across the worker threads, either the light or the heavy edges
+	 * of the specified vertices.
+	 * 
+	 * @param frontier - the IDs of the vertices whose edges are relaxed
+	 * @param distanceBits - the bits of the tentative distance of each vertex
+	 * @param delta - the width of each distance bucket
+	 * @param light - true to relax edges whose weights do not exceed delta;
+	 *     false to relax the remaining edges
+	 * 
+	 * @return improved - for each chunk of the frontier, the IDs of the
+	 *     vertices whose tentative distances were lowered
+	 */
+	private IntList[] relaxInParallel(
+		final IntList frontier,
+		final AtomicLongArray distanceBits,
+		final double delta,
+		final boolean light)
+	{
+		int numOfThreads = Runtime.getRuntime().availableProcessors();
+		int numOfChunks = Math.max(
+			1, Math.min(frontier.size(), numOfThreads * CHUNKS_PER_THREAD));
+		final int chunkSize = (frontier.size() + numOfChunks - 1) / numOfChunks;
+		
+		final IntList[] improved = new IntList[numOfChunks];
+		IntStream.range(0, numOfChunks).parallel().forEach(chunk ->
+		{
+			IntList chunkImproved = new IntList();
+			
+			int end = Math.min(frontier.size(), (chunk + 1) * chunkSize);
+			for (int n = chunk * chunkSize; n < end; ++n)
+			{
+				int fromVertexId = frontier.get(n);
+				double fromDistance =
+					Double.longBitsToDouble(distanceBits.get(fromVertexId));
+				
+				PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+				for (int adjIndex = 0; adjs.hasNext() == true; ++adjIndex)
+				{
+					int toVertexId = adjs.nextInt();
+					double weight = weight(fromVertexId, adjIndex);
+					if ((weight <= delta) != light)
+					{
+						continue;
+					}
+					
+					long newBits =
+						Double.doubleToLongBits(fromDistance + weight);
+					long oldBits = distanceBits.get(toVertexId);
+					while (newBits < oldBits)
+					{
+						if (distanceBits.compareAndSet(
+							toVertexId, oldBits, newBits) == true)
+						{
+							chunkImproved.add(toVertexId);
+							break;
+						}
+						oldBits = distanceBits.get(toVertexId);
+					}
+				}
+			}
+			
+			improved[chunk] = chunkImproved;
+		});
+		
+		return improved;
+	}
+	
+	/**
+	 * Places each vertex whose tentative distance was lowered into the bucket
+	 * of its new distance.
+	 * 
+	 * @param buckets - the vertices of each distance bucket
+	 * @param improved - the IDs of the vertices whose tentative distances
+	 *     were lowered
+	 * @param distanceBits - the bits of the tentative distance of each vertex
+	 * @param delta - the width of each distance bucket
+	 */
+	private static void scatterIntoBuckets(
+		ArrayList<IntList> buckets,
+		IntList[] improved,
+		AtomicLongArray distanceBits,
+		double delta)
+	{
+		for (IntList chunkImproved : improved)
+		{
+			for (int n = 0; n < chunkImproved.size(); ++n)
+			{
+				int vertexId = chunkImproved.get(n);
+				double distance =
+					Double.longBitsToDouble(distanceBits.get(vertexId));
+				addToBucket(buckets, (int) (distance / delta), vertexId);
+			}
+		}
+	}
+	
+	/**
+	 * Adds the specified vertex to the specified bucket, creating any buckets
+	 * which do not yet exist.
+	 * 
+	 * @param buckets - the vertices of each distance bucket
+	 * @param bucket - the index of the bucket
+	 * @param vertexId - the ID of the vertex
+	 */
+	private static void addToBucket(
+		ArrayList<IntList> buckets, int bucket, int vertexId)
+	{
+		while (buckets.size() <= bucket)
+		{
+			buckets.add(new IntList());
+		}
+		
+		buckets.get(bucket).add(vertexId);
+	}
+	
+	/**
+	 * Determines a predecessor for every reachable vertex once the final
+	 * distances are known, by a breadth-first search over the edges which
+	 * lie on shortest paths. Doing so after the parallel relaxation avoids
+	 * racing updates of the predecessors and never forms a cycle, even
+	 * across edges of zero weight.
+	 * 
+	 * @param sourceVertexId - the ID of the source vertex
+	 */
+	private void gatherPredecessors(int sourceVertexId)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		boolean[] discovered = new boolean[numOfVertices];
+		int[] queue = new int[numOfVertices];
+		int head = 0;
+		int tail = 0;
+		
+		discovered[sourceVertexId] = true;
+		queue[tail++] = sourceVertexId;
+		while (head < tail)
+		{
+			int fromVertexId = queue[head++];
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+			for (int adjIndex = 0; adjs.hasNext() == true; ++adjIndex)
+			{
+				int toVertexId = adjs.nextInt();
+				if ((discovered[toVertexId] == false)
+					&& (distances[fromVertexId] + weight(fromVertexId, adjIndex)
+					== distances[toVertexId]))
+				{
+					discovered[toVertexId] = true;
+					predecessors[toVertexId] = fromVertexId;
+					queue[tail++] = toVertexId;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Discards the results of the latest search.
+	 * 
+	 * @param numOfVertices - the number of vertices of the graph
+	 */
+	private void resetSearch(int numOfVertices)
+	{
+		distances = new double[numOfVertices];
+		Arrays.fill(distances, UNREACHABLE);
+		predecessors = new int[numOfVertices];
+		Arrays.fill(predecessors, NO_PREDECESSOR);
+	}
+}
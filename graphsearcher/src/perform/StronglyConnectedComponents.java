@@ -0,0 +1,624 @@
+package perform;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decomposes a directed graph into its strongly connected components by the
+ * forward-backward algorithm, with the partitions of the graph decomposed 
+ * concurrently on a fork/join pool.
+ * 
+ * <p>Vertices without an in-edge or an out-edge among the remaining vertices
+ * are first trimmed, repeatedly, as components of their own; on most graphs
+ * this removes the bulk of the vertices in linear time. The remaining 
+ * vertices form one partition. From a pivot of a partition, the vertices 
+ * reachable forward and the vertices reachable backward within the 
+ * partition are searched concurrently. Their intersection is the component
+ * of the pivot, and the vertices reached only forward, only backward, or 
+ * neither each form a partition which no component crosses, so the three
+ * are decomposed independently. Partitions smaller than a threshold are 
+ * decomposed by Tarjan's algorithm instead.
+ * 
+ * <p>A task continues with the largest of the three partitions itself and 
+ * forks the other two, which complete into it rather than being joined, so
+ * the stack does not deepen with the number of partitions split off. A 
+ * partition which lies too many splits below the first is also decomposed
+ * by Tarjan's algorithm, since a graph on which every pivot splits off only
+ * a small component, such as a chain of small cycles, would otherwise be 
+ * searched once per component.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class StronglyConnectedComponents
+{
+	/**
+	 * The component of a vertex which has not yet been assigned one.
+	 */
+	private static final int UNASSIGNED = -1;
+	
+	/**
+	 * The number of vertices below which a partition is decomposed by 
+	 * Tarjan's algorithm rather than by further partitioning.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 4096;
+	
+	/**
+	 * The number of splits below the first partition at which a partition is
+	 * decomposed by Tarjan's algorithm regardless of its size.
+	 */
+	private static final int MAX_PARTITION_DEPTH = 64;
+	
+	/**
+	 * The vertices which exist in the graph with respect to their adjacent 
+	 * vertices.
+	 */
+	private final Adjacency adjacency;
+	
+	/**
+	 * The vertices which exist in the graph with respect to the vertices 
+	 * from which they are adjacent; null if they are gathered by the 
+	 * decomposition itself.
+	 */
+	private final Adjacency givenReverseAdjacency;
+	
+	/**
+	 * The vertices which exist in the graph with respect to the vertices 
+	 * from which they are adjacent, during the decomposition.
+	 */
+	private Adjacency reverseAdjacency;
+	
+	/**
+	 * The partition of each vertex which has not been assigned a component.
+	 */
+	private int[] partitions;
+	
+	/**
+	 * The partition whose forward search last reached each vertex.
+	 */
+	private int[] forwardMarks;
+	
+	/**
+	 * The partition whose backward search last reached each vertex.
+	 */
+	private int[] backwardMarks;
+	
+	/**
+	 * The order in which Tarjan's algorithm visited each vertex, within its 
+	 * partition.
+	 */
+	private int[] visitIndices;
+	
+	/**
+	 * The least visit index reachable from each vertex during Tarjan's 
+	 * algorithm.
+	 */
+	private int[] lowLinks;
+	
+	/**
+	 * The component of each vertex, numbered as they are found.
+	 */
+	private int[] componentIds;
+	
+	/**
+	 * The next unused partition ID.
+	 */
+	private AtomicInteger nextPartition;
+	
+	/**
+	 * The next unused component ID.
+	 */
+	private AtomicInteger nextComponentId;
+	
+	/**
+	 * The number of components found.
+	 */
+	private int numOfComponents;
+	
+	/**
+	 * Initializes the decomposition of the specified graph.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 */
+	StronglyConnectedComponents(Adjacency adjacency)
+	{
+		this(adjacency, null);
+	}
+	
+	/**
+	 * Initializes the decomposition of the specified graph, whose in-edges 
+	 * have already been gathered.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * @param reverseAdjacency - the vertices which exist in the graph with 
+	 *     respect to the vertices from which they are adjacent; null to 
+	 *     gather them for each decomposition
+	 */
+	StronglyConnectedComponents(
+		Adjacency adjacency, Adjacency reverseAdjacency)
+	{
+		this.adjacency = adjacency;
+		givenReverseAdjacency = reverseAdjacency;
+		
+		numOfComponents = 0;
+	}
+	
+	/**
+	 * Decomposes the graph on the common fork/join pool.
+	 * 
+	 * @return componentIds - an array in which each element is the component
+	 *     of the vertex whose ID is the element's index; components are 
+	 *     numbered from 0 in order of their lowest vertex ID
+	 */
+	int[] computeComponentIds()
+	{
+		return computeComponentIds(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Decomposes the graph on the specified fork/join pool.
+	 * 
+	 * @param pool - the pool on which partitions are decomposed
+	 * 
+	 * @return componentIds - an array in which each element is the component
+	 *     of the vertex whose ID is the element's index; components are 
+	 *     numbered from 0 in order of their lowest vertex ID
+	 */
+	int[] computeComponentIds(ForkJoinPool pool)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		reverseAdjacency = givenReverseAdjacency;
+		if (reverseAdjacency == null)
+		{
+			reverseAdjacency = CsrAdjacency.transpose(adjacency);
+		}
+		
+		componentIds = new int[numOfVertices];
+		Arrays.fill(componentIds, UNASSIGNED);
+		partitions = new int[numOfVertices];
+		Arrays.fill(partitions, UNASSIGNED);
+		forwardMarks = new int[numOfVertices];
+		backwardMarks = new int[numOfVertices];
+		Arrays.fill(forwardMarks, UNASSIGNED);
+		Arrays.fill(backwardMarks, UNASSIGNED);
+		visitIndices = new int[numOfVertices];
+		Arrays.fill(visitIndices, UNASSIGNED);
+		lowLinks = new int[numOfVertices];
+		nextPartition = new AtomicInteger(1);
+		nextComponentId = new AtomicInteger(0);
+		
+		int[] remaining = trim();
+		if (remaining.length > 0)
+		{
+			for (int vertexId : remaining)
+			{
+				partitions[vertexId] = 0;
+			}
+			pool.invoke(new PartitionTask(null, remaining, 0, 0));
+		}
+		
+		renumberComponents();
+		
+		// Release everything but the result.
+		reverseAdjacency = null;
+		partitions = null;
+		forwardMarks = null;
+		backwardMarks = null;
+		visitIndices = null;
+		lowLinks = null;
+		
+		return componentIds;
+	}
+	
+	/**
+	 * Returns the number of components found by the latest decomposition.
+	 * 
+	 * @return numOfComponents - the number of strongly connected components
+	 */
+	int getNumOfComponents()
+	{
+		return numOfComponents;
+	}
+	
+	/**
+	 * Repeatedly assigns a component of its own to every vertex which has no
+	 * in-edge or no out-edge from another remaining vertex, since such a 
+	 * vertex lies on no cycle through another vertex.
+	 * 
+	 * @return remaining - the IDs of the vertices which were not trimmed
+	 */
+	private int[] trim()
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		int[] inDegrees = new int[numOfVertices];
+		int[] outDegrees = new int[numOfVertices];
+		for (int fromVertexId = 0; fromVertexId < numOfVertices; ++fromVertexId)
+		{
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+			while (adjs.hasNext() == true)
+			{
+				int toVertexId = adjs.nextInt();
+				if (toVertexId != fromVertexId)
+				{
+					++outDegrees[fromVertexId];
+					++inDegrees[toVertexId];
+				}
+			}
+		}
+		
+		int[] trimmed = new int[numOfVertices];
+		int tail = 0;
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			if ((inDegrees[vertexId] == 0) || (outDegrees[vertexId] == 0))
+			{
+				componentIds[vertexId] = nextComponentId.getAndIncrement();
+				trimmed[tail++] = vertexId;
+			}
+		}
+		
+		for (int head = 0; head < tail; ++head)
+		{
+			int vertexId = trimmed[head];
+			
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(vertexId);
+			while (adjs.hasNext() == true)
+			{
+				int toVertexId = adjs.nextInt();
+				if ((toVertexId != vertexId) 
+					&& (componentIds[toVertexId] == UNASSIGNED)
+					&& (--inDegrees[toVertexId] == 0))
+				{
+					componentIds[toVertexId] = 
+						nextComponentId.getAndIncrement();
+					trimmed[tail++] = toVertexId;
+				}
+			}
+			
+			PrimitiveIterator.OfInt inAdjs = 
+				reverseAdjacency.neighbors(vertexId);
+			while (inAdjs.hasNext() == true)
+			{
+				int fromVertexId = inAdjs.nextInt();
+				if ((fromVertexId != vertexId) 
+					&& (componentIds[fromVertexId] == UNASSIGNED)
+					&& (--outDegrees[fromVertexId] == 0))
+				{
+					componentIds[fromVertexId] = 
+						nextComponentId.getAndIncrement();
+					trimmed[tail++] = fromVertexId;
+				}
+			}
+		}
+		
+		int[] remaining = new int[numOfVertices - tail];
+		int numOfRemaining = 0;
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			if (componentIds[vertexId] == UNASSIGNED)
+			{
+				remaining[numOfRemaining++] = vertexId;
+			}
+		}
+		
+		return remaining;
+	}
+	
+	/**
+	 * Renumbers the components in order of their lowest vertex ID, so that 
+	 * the result does not depend on the scheduling of the partitions.
+	 */
+	private void renumberComponents()
+	{
+		int[] newComponentIds = new int[nextComponentId.get()];
+		Arrays.fill(newComponentIds, UNASSIGNED);
+		
+		numOfComponents = 0;
+		for (int vertexId = 0; vertexId < componentIds.length; ++vertexId)
+		{
+			int componentId = componentIds[vertexId];
+			if (newComponentIds[componentId] == UNASSIGNED)
+			{
+				newComponentIds[componentId] = numOfComponents++;
+			}
+			componentIds[vertexId] = newComponentIds[componentId];
+		}
+	}
+	
+	/**
+	 * Marks every vertex of the specified partition which is reachable from
+	 * the specified pivot, following either out-edges or in-edges.
+	 * 
+	 * @param pivot - the ID of the vertex from which to search
+	 * @param partition - the partition to which the search is confined
+	 * @param forward - true to follow out-edges; false to follow in-edges
+	 */
+	private void markReachable(int pivot, int partition, boolean forward)
+	{
+		int[] marks = forward ? forwardMarks : backwardMarks;
+		
+		IntList frontier = new IntList();
+		marks[pivot] = partition;
+		frontier.add(pivot);
+		for (int head = 0; head < frontier.size(); ++head)
+		{
+			int vertexId = frontier.get(head);
+			PrimitiveIterator.OfInt adjs = null;
+			if (forward == true)
+			{
+				adjs = adjacency.neighbors(vertexId);
+			}
+			else
+			{
+				adjs = reverseAdjacency.neighbors(vertexId);
+			}
+			while (adjs.hasNext() == true)
+			{
+				int adjVertexId = adjs.nextInt();
+				if ((partitions[adjVertexId] == partition)
+					&& (marks[adjVertexId] != partition))
+				{
+					marks[adjVertexId] = partition;
+					frontier.add(adjVertexId);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Decomposes the specified partition by Tarjan's algorithm, confined to 
+	 * the vertices of the partition and performed without recursion.
+	 * 
+	 * @param vertices - the IDs of the vertices of the partition
+	 * @param partition - the partition to decompose
+	 */
+	private void decomposeSequentially(int[] vertices, int partition)
+	{
+		int[] callStack = new int[vertices.length];
+		PrimitiveIterator.OfInt[] callStackAdjs = 
+			new PrimitiveIterator.OfInt[vertices.length];
+		int[] componentStack = new int[vertices.length];
+		int componentTop = 0;
+		int visitIndex = 0;
+		
+		for (int root : vertices)
+		{
+			if (visitIndices[root] != UNASSIGNED)
+			{
+				continue;
+			}
+			
+			int callTop = 0;
+			callStack[callTop] = root;
+			callStackAdjs[callTop] = adjacency.neighbors(root);
+			visitIndices[root] = visitIndex;
+			lowLinks[root] = visitIndex++;
+			componentStack[componentTop++] = root;
+			
+			while (callTop >= 0)
+			{
+				int vertexId = callStack[callTop];
+				PrimitiveIterator.OfInt adjs = callStackAdjs[callTop];
+				
+				boolean descended = false;
+				while (adjs.hasNext() == true)
+				{
+					int adjVertexId = adjs.nextInt();
+					if (partitions[adjVertexId] != partition)
+					{
+						continue;
+					}
+					
+					if (visitIndices[adjVertexId] == UNASSIGNED)
+					{
+						++callTop;
+						callStack[callTop] = adjVertexId;
+						callStackAdjs[callTop] = adjacency.neighbors(adjVertexId);
+						visitIndices[adjVertexId] = visitIndex;
+						lowLinks[adjVertexId] = visitIndex++;
+						componentStack[componentTop++] = adjVertexId;
+						
+						descended = true;
+						break;
+					}
+					else if (componentIds[adjVertexId] == UNASSIGNED)
+					{
+						// The adjacent vertex is still on the component 
+						// stack.
+						lowLinks[vertexId] = Math.min(
+							lowLinks[vertexId], visitIndices[adjVertexId]);
+					}
+				}
+				if (descended == true)
+				{
+					continue;
+				}
+				
+				if (lowLinks[vertexId] == visitIndices[vertexId])
+				{
+					int componentId = nextComponentId.getAndIncrement();
+					int memberId = -1;
+					do
+					{
+						memberId = componentStack[--componentTop];
+						componentIds[memberId] = componentId;
+					}
+					while (memberId != vertexId);
+				}
+				
+				callStackAdjs[callTop] = null;
+				--callTop;
+				if (callTop >= 0)
+				{
+					int parentId = callStack[callTop];
+					lowLinks[parentId] = 
+						Math.min(lowLinks[parentId], lowLinks[vertexId]);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Decomposes a single partition, continuing with the largest of the 
+	 * partitions into which it divides and forking the others, which 
+	 * complete into this task.
+	 */
+	private final class PartitionTask extends CountedCompleter<Void>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * The IDs of the vertices of the partition.
+		 */
+		private int[] vertices;
+		
+		/**
+		 * The partition to decompose.
+		 */
+		private int partition;
+		
+		/**
+		 * The number of splits between the first partition and this one.
+		 */
+		private int depth;
+		
+		/**
+		 * Initializes the decomposition of the specified partition.
+		 * 
+		 * @param completer - the task which completes once this one does; 
+		 *     null for the first partition
+		 * @param vertices - the IDs of the vertices of the partition, each of 
+		 *     which is already assigned to the partition
+		 * @param partition - the partition to decompose
+		 * @param depth - the number of splits between the first partition 
+		 *     and this one
+		 */
+		PartitionTask(
+			CountedCompleter<?> completer, 
+			int[] vertices, 
+			int partition, 
+			int depth)
+		{
+			super(completer);
+			
+			this.vertices = vertices;
+			this.partition = partition;
+			this.depth = depth;
+		}
+		
+		/**
+		 * Splits the partition until it is small or deep enough for Tarjan's 
+		 * algorithm.
+		 */
+		@Override
+		public void compute()
+		{
+			while ((vertices.length >= SEQUENTIAL_THRESHOLD)
+				&& (depth < MAX_PARTITION_DEPTH))
+			{
+				split();
+			}
+			
+			if (vertices.length > 0)
+			{
+				decomposeSequentially(vertices, partition);
+			}
+			
+			tryComplete();
+		}
+		
+		/**
+		 * Finds the component of a pivot, forks the decomposition of the two
+		 * smaller partitions which remain, and continues with the largest.
+		 */
+		private void split()
+		{
+			final int pivot = vertices[0];
+			RecursiveAction forwardSearch = new RecursiveAction()
+			{
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected void compute()
+				{
+					markReachable(pivot, partition, true);
+				}
+			};
+			forwardSearch.fork();
+			markReachable(pivot, partition, false);
+			forwardSearch.join();
+			
+			int forwardOnlyPartition = nextPartition.getAndIncrement();
+			int backwardOnlyPartition = nextPartition.getAndIncrement();
+			int unreachedPartition = nextPartition.getAndIncrement();
+			IntList forwardOnly = new IntList();
+			IntList backwardOnly = new IntList();
+			IntList unreached = new IntList();
+			
+			int componentId = nextComponentId.getAndIncrement();
+			for (int vertexId : vertices)
+			{
+				boolean forward = (forwardMarks[vertexId] == partition);
+				boolean backward = (backwardMarks[vertexId] == partition);
+				if ((forward == true) && (backward == true))
+				{
+					componentIds[vertexId] = componentId;
+				}
+				else if (forward == true)
+				{
+					partitions[vertexId] = forwardOnlyPartition;
+					forwardOnly.add(vertexId);
+				}
+				else if (backward == true)
+				{
+					partitions[vertexId] = backwardOnlyPartition;
+					backwardOnly.add(vertexId);
+				}
+				else
+				{
+					partitions[vertexId] = unreachedPartition;
+					unreached.add(vertexId);
+				}
+			}
+			
+			int[][] remainders = {
+				forwardOnly.toArray(), 
+				backwardOnly.toArray(), 
+				unreached.toArray()};
+			int[] remainderPartitions = {
+				forwardOnlyPartition, 
+				backwardOnlyPartition, 
+				unreachedPartition};
+			int largest = 0;
+			for (int n = 1; n < remainders.length; ++n)
+			{
+				if (remainders[n].length > remainders[largest].length)
+				{
+					largest = n;
+				}
+			}
+			
+			++depth;
+			for (int n = 0; n < remainders.length; ++n)
+			{
+				if ((n != largest) && (remainders[n].length > 0))
+				{
+					addToPendingCount(1);
+					new PartitionTask(
+						this, remainders[n], remainderPartitions[n], depth)
+						.fork();
+				}
+			}
+			vertices = remainders[largest];
+			partition = remainderPartitions[largest];
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package perform;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Holds the complete depth-first searches of a graph from its most recently
+ * queried source vertices, so that any later query from one of those source
+ * vertices is answered without searching. The searches are bounded by the 
+ * bytes they occupy rather than by their number, since the search from a 
+ * vertex which reaches most of the graph is far larger than one which 
+ * reaches little. Once the bound is exceeded, the least recently used 
+ * searches are discarded. A search which could not fit within the bound is
+ * abandoned before it completes, and the query is answered by a search 
+ * which stops at its destination vertex instead.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class TraversalCache
+{
+	/**
+	 * The greatest number of bytes which the cached searches may occupy.
+	 */
+	private final long capacityInBytes;
+	
+	/**
+	 * The cached searches by the ID of their source vertex, in order of 
+	 * least recent use.
+	 */
+	private final LinkedHashMap<Integer, DfsTraversal> traversals;
+	
+	/**
+	 * The number of bytes which the cached searches occupy.
+	 */
+	private long sizeInBytes;
+	
+	/**
+	 * The number of queries answered by a cached search.
+	 */
+	private long hits;
+	
+	/**
+	 * The number of queries for which no search was cached.
+	 */
+	private long misses;
+	
+	/**
+	 * The number of searches discarded to stay within the capacity.
+	 */
+	private long evictions;
+	
+	/**
+	 * Initializes an empty cache whose searches occupy at most the specified
+	 * number of bytes.
+	 * 
+	 * @param capacityInBytes - the greatest number of bytes which the cached
+	 *     searches may occupy
+	 */
+	TraversalCache(long capacityInBytes)
+	{
+		this.capacityInBytes = capacityInBytes;
+		
+		traversals = new LinkedHashMap<Integer, DfsTraversal>(16, 0.75f, true);
+		sizeInBytes = 0;
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+	
+	/**
+	 * Returns the greatest number of bytes which the cached searches may 
+	 * occupy.
+	 * 
+	 * @return capacityInBytes - the greatest number of bytes which the cached
+	 *     searches may occupy
+	 */
+	long getCapacityInBytes()
+	{
+		return capacityInBytes;
+	}
+	
+	/**
+	 * Returns the cached search from the specified source vertex and records 
+	 * a hit, or records a miss if it is not cached.
+	 * 
+	 * @param sourceVertexId - the ID of the source vertex of the search
+	 * 
+	 * @return traversal - the cached search; null if it is not cached
+	 */
+	synchronized DfsTraversal get(int sourceVertexId)
+	{
+		DfsTraversal traversal = traversals.get(sourceVertexId);
+		if (traversal == null)
+		{
+			++misses;
+		}
+		else
+		{
+			++hits;
+		}
+		
+		return traversal;
+	}
+	
+	/**
+	 * Caches the specified search, discarding the least recently used 
+	 * searches until the cache is within its capacity. A search larger than 
+	 * the whole capacity is not cached.
+	 * 
+	 * @param traversal - the search to cache
+	 */
+	synchronized void put(DfsTraversal traversal)
+	{
+		long traversalSize = traversal.sizeInBytes();
+		if (traversalSize > capacityInBytes)
+		{
+			return;
+		}
+		
+		DfsTraversal replaced = 
+			traversals.put(traversal.getSourceVertexId(), traversal);
+		if (replaced != null)
+		{
+			sizeInBytes -= replaced.sizeInBytes();
+		}
+		sizeInBytes += traversalSize;
+		
+		Iterator<DfsTraversal> leastRecentlyUsed = 
+			traversals.values().iterator();
+		while (sizeInBytes > capacityInBytes)
+		{
+			sizeInBytes -= leastRecentlyUsed.next().sizeInBytes();
+			leastRecentlyUsed.remove();
+			++evictions;
+		}
+	}
+	
+	/**
+	 * Formats the number of hits, misses, and evictions of the cache and the
+	 * searches it holds.
+	 * 
+	 * @return metrics - the labeled metrics of the cache
+	 */
+	synchronized String formatMetrics()
+	{
+		return 
+			"[Traversal Cache] Hits: " + hits + 
+			", Misses: " + misses + 
+			", Evictions: " + evictions + 
+			", Entries: " + traversals.size() + 
+			", Bytes: " + sizeInBytes + "/" + capacityInBytes;
+	}
+}
@@ -0,0 +1,383 @@
+package perform;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Models the strategies by which the vertices of a graph may be relabeled
+ * after the graph has been read, so that vertices which are traversed
+ * together are stored near one another in memory.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+enum VertexOrdering
+{
+	/**
+	 * Vertices keep the IDs which were specified within the graph file.
+	 */
+	NONE,
+	
+	/**
+	 * Vertices are labeled in the order in which a breadth-first search
+	 * discovers them.
+	 */
+	BFS,
+	
+	/**
+	 * Vertices are labeled in reverse Cuthill-McKee order, which reduces the
+	 * bandwidth of the adjacency matrix.
+	 */
+	RCM,
+	
+	/**
+	 * Vertices are labeled in order of decreasing out-degree.
+	 */
+	DEGREE;
+	
+	/**
+	 * The number of bits by which the degree of a vertex is shifted above its
+	 * ID within a sort key.
+	 */
+	private static final int DEGREE_SHIFT = Integer.SIZE;
+	
+	// Methods
+	/**
+	 * Returns the ordering whose name matches the specified name, ignoring
+	 * case.
+	 * 
+	 * @param name - the name of the ordering
+	 * 
+	 * @return ordering - the matching ordering; null if no ordering matches
+	 */
+	static VertexOrdering fromName(String name)
+	{
+		for (VertexOrdering ordering : values())
+		{
+			if (ordering.name().equalsIgnoreCase(name) == true)
+			{
+				return ordering;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Determines the new label of every vertex of the graph.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * 
+	 * @return newIds - an array in which each element is the new ID of the
+	 *     vertex whose current ID is the element's index; null if this
+	 *     ordering does not relabel vertices
+	 */
+	int[] computeNewIds(Adjacency adjacency)
+	{
+		int[] orderedIds = null;
+		switch (this)
+		{
+			case BFS:
+				orderedIds = bfsOrder(adjacency);
+				break;
+			case RCM:
+				orderedIds = reverseCuthillMcKeeOrder(adjacency);
+				break;
+			case DEGREE:
+				orderedIds = degreeOrder(adjacency);
+				break;
+			default:
+				return null;
+		}
+		
+		int[] newIds = new int[orderedIds.length];
+		for (int newId = 0; newId < orderedIds.length; ++newId)
+		{
+			newIds[orderedIds[newId]] = newId;
+		}
+		
+		return newIds;
+	}
+	
+	/**
+	 * Orders the vertices by a breadth-first search along the out-edges of
+	 * the graph, beginning a new search from the lowest undiscovered ID until
+	 * every vertex has been discovered.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * 
+	 * @return orderedIds - the current vertex IDs in their new order
+	 */
+	private static int[] bfsOrder(Adjacency adjacency)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		int[] orderedIds = new int[numOfVertices];
+		boolean[] discovered = new boolean[numOfVertices];
+		
+		int tail = 0;
+		for (int root = 0; root < numOfVertices; ++root)
+		{
+			if (discovered[root] == true)
+			{
+				continue;
+			}
+			
+			discovered[root] = true;
+			orderedIds[tail++] = root;
+			for (int head = tail - 1; head < tail; ++head)
+			{
+				PrimitiveIterator.OfInt adjs = 
+					adjacency.neighbors(orderedIds[head]);
+				while (adjs.hasNext() == true)
+				{
+					int adjVertexId = adjs.nextInt();
+					if (discovered[adjVertexId] == false)
+					{
+						discovered[adjVertexId] = true;
+						orderedIds[tail++] = adjVertexId;
+					}
+				}
+			}
+		}
+		
+		return orderedIds;
+	}
+	
+	/**
+	 * Orders the vertices in reverse Cuthill-McKee order. Edge direction is
+	 * ignored. Each breadth-first search begins from the undiscovered vertex
+	 * of lowest degree and visits the neighbors of each vertex in order of
+	 * increasing degree.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * 
+	 * @return orderedIds - the current vertex IDs in their new order
+	 */
+	private static int[] reverseCuthillMcKeeOrder(Adjacency adjacency)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		int[][] undirectedAdjs = symmetrize(adjacency);
+		
+		int[] degrees = new int[numOfVertices];
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			degrees[vertexId] = undirectedAdjs[vertexId].length;
+		}
+		int[] byDegree = sortByDegree(degrees, true);
+		
+		int[] orderedIds = new int[numOfVertices];
+		boolean[] discovered = new boolean[numOfVertices];
+		
+		// The neighbors discovered from a vertex are sorted by keys which 
+		// hold the degree of each above its ID, so that ties fall to the 
+		// lower ID.
+		long[] keys = new long[numOfVertices];
+		
+		int tail = 0;
+		for (int root : byDegree)
+		{
+			if (discovered[root] == true)
+			{
+				continue;
+			}
+			
+			discovered[root] = true;
+			orderedIds[tail++] = root;
+			for (int head = tail - 1; head < tail; ++head)
+			{
+				int levelStart = tail;
+				for (int adjVertexId : undirectedAdjs[orderedIds[head]])
+				{
+					if (discovered[adjVertexId] == false)
+					{
+						discovered[adjVertexId] = true;
+						orderedIds[tail++] = adjVertexId;
+					}
+				}
+				
+				for (int n = levelStart; n < tail; ++n)
+				{
+					int vertexId = orderedIds[n];
+					keys[n] = 
+						((long) degrees[vertexId] << DEGREE_SHIFT) | vertexId;
+				}
+				Arrays.sort(keys, levelStart, tail);
+				for (int n = levelStart; n < tail; ++n)
+				{
+					orderedIds[n] = (int) keys[n];
+				}
+			}
+		}
+		
+		for (int low = 0, high = numOfVertices - 1; low < high; ++low, --high)
+		{
+			int swapped = orderedIds[low];
+			orderedIds[low] = orderedIds[high];
+			orderedIds[high] = swapped;
+		}
+		
+		return orderedIds;
+	}
+	
+	/**
+	 * Orders the vertices by decreasing out-degree. Vertices of equal
+	 * out-degree keep their relative order.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * 
+	 * @return orderedIds - the current vertex IDs in their new order
+	 */
+	private static int[] degreeOrder(Adjacency adjacency)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		int[] degrees = new int[numOfVertices];
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			degrees[vertexId] = adjacency.degree(vertexId);
+		}
+		
+		return sortByDegree(degrees, false);
+	}
+	
+	/**
+	 * Sorts the vertices by degree by counting the vertices of each degree, 
+	 * so that no vertex ID is boxed and no comparison is made. Vertices of 
+	 * equal degree keep the order of their IDs.
+	 * 
+	 * @param degrees - the degree of each vertex, indexed by vertex ID
+	 * @param lowestDegreeFirst - true to order by increasing degree; false to
+	 *     order by decreasing degree
+	 * 
+	 * @return orderedIds - the vertex IDs in order of degree
+	 */
+	private static int[] sortByDegree(int[] degrees, boolean lowestDegreeFirst)
+	{
+		int maxDegree = 0;
+		for (int degree : degrees)
+		{
+			maxDegree = Math.max(maxDegree, degree);
+		}
+		
+		// The position within the order at which the vertices of each 
+		// bucket begin, where a bucket holds the vertices of one degree.
+		int[] bucketStarts = new int[maxDegree + 2];
+		for (int degree : degrees)
+		{
+			++bucketStarts[bucketOf(degree, maxDegree, lowestDegreeFirst) + 1];
+		}
+		for (int bucket = 0; bucket <= maxDegree; ++bucket)
+		{
+			bucketStarts[bucket + 1] += bucketStarts[bucket];
+		}
+		
+		int[] orderedIds = new int[degrees.length];
+		for (int vertexId = 0; vertexId < degrees.length; ++vertexId)
+		{
+			int bucket = 
+				bucketOf(degrees[vertexId], maxDegree, lowestDegreeFirst);
+			orderedIds[bucketStarts[bucket]++] = vertexId;
+		}
+		
+		return orderedIds;
+	}
+	
+	/**
+	 * Returns the bucket of the vertices of the specified degree when they 
+	 * are sorted by degree.
+	 * 
+	 * @param degree - the degree of the vertices
+	 * @param maxDegree - the greatest degree of any vertex
+	 * @param lowestDegreeFirst - true if the vertices are ordered by 
+	 *     increasing degree; false if by decreasing degree
+	 * 
+	 * @return bucket - the index of the bucket, in the order of the buckets
+	 */
+	private static int bucketOf(
+		int degree, int maxDegree, boolean lowestDegreeFirst)
+	{
+		if (lowestDegreeFirst == true)
+		{
+			return degree;
+		}
+		
+		return maxDegree - degree;
+	}
+	
+	/**
+	 * Gathers, for every vertex, the vertices which are adjacent to it in
+	 * either direction.
+	 * 
+	 * @param adjacency - the vertices which exist in the graph with respect
+	 *     to their adjacent vertices
+	 * 
+	 * @return undirectedAdjs - the vertices adjacent to each vertex, ignoring
+	 *     edge direction and excluding the vertex itself
+	 */
+	private static int[][] symmetrize(Adjacency adjacency)
+	{
+		int numOfVertices = adjacency.numOfVertices();
+		
+		int[] degrees = new int[numOfVertices];
+		for (int fromVertexId = 0; fromVertexId < numOfVertices; ++fromVertexId)
+		{
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+			while (adjs.hasNext() == true)
+			{
+				int toVertexId = adjs.nextInt();
+				if (toVertexId != fromVertexId)
+				{
+					++degrees[fromVertexId];
+					++degrees[toVertexId];
+				}
+			}
+		}
+		
+		int[][] undirectedAdjs = new int[numOfVertices][];
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			undirectedAdjs[vertexId] = new int[degrees[vertexId]];
+			degrees[vertexId] = 0;
+		}
+		
+		for (int fromVertexId = 0; fromVertexId < numOfVertices; ++fromVertexId)
+		{
+			PrimitiveIterator.OfInt adjs = adjacency.neighbors(fromVertexId);
+			while (adjs.hasNext() == true)
+			{
+				int toVertexId = adjs.nextInt();
+				if (toVertexId != fromVertexId)
+				{
+					undirectedAdjs[fromVertexId][degrees[fromVertexId]++] =
+						toVertexId;
+					undirectedAdjs[toVertexId][degrees[toVertexId]++] =
+						fromVertexId;
+				}
+			}
+		}
+		
+		// Remove the duplicates which arise from edges in both directions.
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			int[] adjs = undirectedAdjs[vertexId];
+			Arrays.sort(adjs);
+			int distinct = 0;
+			for (int n = 0; n < adjs.length; ++n)
+			{
+				if ((n == 0) || (adjs[n] != adjs[n - 1]))
+				{
+					adjs[distinct++] = adjs[n];
+				}
+			}
+			undirectedAdjs[vertexId] = Arrays.copyOf(adjs, distinct);
+		}
+		
+		return undirectedAdjs;
+	}
+}
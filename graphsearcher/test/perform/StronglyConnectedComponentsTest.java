@@ -0,0 +1,126 @@
+package perform;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks the decomposition of graphs on which every pivot of the 
+ * forward-backward algorithm splits off only a small component, which must
+ * neither exhaust the stack nor take time quadratic in the number of 
+ * vertices. Run from the root of the project with the classes of src and of
+ * this file on the class path; exits with a nonzero code on failure.
+ * 
+ * @author Joshua Sims
+ * @version 29 October 2016
+ */
+final class StronglyConnectedComponentsTest
+{
+	/**
+	 * The number of vertices of each chain, far beyond the depth at which 
+	 * nested partitions exhausted the stack.
+	 */
+	private static final int NUM_OF_VERTICES = 200000;
+	
+	/**
+	 * The number of threads of the pool on which the chains are decomposed
+	 * in parallel.
+	 */
+	private static final int PARALLELISM = 4;
+	
+	/**
+	 * Decomposes chains of cycles of two and of three vertices, on the 
+	 * common pool and on a pool of its own, and checks every component.
+	 * 
+	 * @param args - unused
+	 */
+	public static void main(String[] args)
+	{
+		ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+		try
+		{
+			for (int cycleLength = 2; cycleLength <= 3; ++cycleLength)
+			{
+				Adjacency chain = chainOfCycles(NUM_OF_VERTICES, cycleLength);
+				
+				check(
+					new StronglyConnectedComponents(chain)
+						.computeComponentIds(), 
+					cycleLength);
+				check(
+					new StronglyConnectedComponents(chain)
+						.computeComponentIds(pool), 
+					cycleLength);
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		
+		System.out.println("StronglyConnectedComponentsTest passed");
+	}
+	
+	/**
+	 * Builds a chain of cycles in which the vertices of each cycle are 
+	 * consecutive and the last vertex of each cycle is adjacent to the first 
+	 * vertex of the next, so that no vertex is trimmed.
+	 * 
+	 * @param numOfVertices - the number of vertices, a multiple of the 
+	 *     length of a cycle
+	 * @param cycleLength - the number of vertices of each cycle
+	 * 
+	 * @return chain - the adjacencies of the chain
+	 */
+	private static Adjacency chainOfCycles(int numOfVertices, int cycleLength)
+	{
+		numOfVertices -= numOfVertices % cycleLength;
+		
+		int[] offsets = new int[numOfVertices + 1];
+		int[] targets = new int[2 * numOfVertices];
+		int numOfEdges = 0;
+		for (int vertexId = 0; vertexId < numOfVertices; ++vertexId)
+		{
+			offsets[vertexId] = numOfEdges;
+			
+			int cycleStart = vertexId - vertexId % cycleLength;
+			int cycleEnd = cycleStart + cycleLength - 1;
+			if (vertexId == cycleEnd)
+			{
+				targets[numOfEdges++] = cycleStart;
+				if (vertexId + 1 < numOfVertices)
+				{
+					targets[numOfEdges++] = vertexId + 1;
+				}
+			}
+			else
+			{
+				targets[numOfEdges++] = vertexId + 1;
+			}
+		}
+		offsets[numOfVertices] = numOfEdges;
+		
+		return new CsrAdjacency(offsets, targets);
+	}
+	
+	/**
+	 * Checks that every cycle of the chain is a component of its own, 
+	 * numbered in order of its lowest vertex ID.
+	 * 
+	 * @param componentIds - the component of each vertex
+	 * @param cycleLength - the number of vertices of each cycle
+	 */
+	private static void check(int[] componentIds, int cycleLength)
+	{
+		for (int vertexId = 0; vertexId < componentIds.length; ++vertexId)
+		{
+			if (componentIds[vertexId] != vertexId / cycleLength)
+			{
+				System.err.println(
+					"Vertex " + vertexId + " of a chain of cycles of length " + 
+					cycleLength + " is in component " + 
+					componentIds[vertexId] + " rather than " + 
+					vertexId / cycleLength + ".");
+				System.exit(1);
+			}
+		}
+	}
+}